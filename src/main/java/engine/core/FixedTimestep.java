@@ -0,0 +1,72 @@
+package engine.core;
+
+/**
+ * Accumulator that turns variable frame times into a whole number of
+ * fixed-length simulation steps.
+ * <p>
+ * Each frame, {@link #advance} adds the elapsed time and returns how many
+ * steps of {@link #getStep()} seconds to simulate; the remainder carries over
+ * to the next frame and {@link #getAlpha()} tells the renderer how far the
+ * current moment lies between the last two simulated states. At most
+ * {@code maxSteps} steps are run per frame: after a long hitch the backlog is
+ * dropped, so the game slows down briefly instead of spending ever longer
+ * frames catching up.
+ * </p>
+ */
+public class FixedTimestep {
+    /** Default simulation rate, in steps per second. */
+    public static final int DEFAULT_RATE = 120;
+    /** Default cap on the steps simulated in one frame. */
+    public static final int DEFAULT_MAX_STEPS = 8;
+
+    private final double step;
+    private final int maxSteps;
+    private double accumulator;
+
+    /**
+     * Creates an accumulator running at {@link #DEFAULT_RATE} with at most
+     * {@link #DEFAULT_MAX_STEPS} steps per frame.
+     */
+    public FixedTimestep() {
+        this(DEFAULT_RATE, DEFAULT_MAX_STEPS);
+    }
+
+    /**
+     * @param rate     simulation steps per second
+     * @param maxSteps most steps returned by one {@link #advance} call
+     */
+    public FixedTimestep(int rate, int maxSteps) {
+        this.step = 1.0 / rate;
+        this.maxSteps = maxSteps;
+    }
+
+    /**
+     * Adds the time of one frame and takes out the steps it pays for.
+     *
+     * @param frameSeconds time since the previous frame, in seconds
+     * @return number of fixed steps to simulate now, between 0 and maxSteps
+     */
+    public int advance(double frameSeconds) {
+        accumulator += Math.max(0, frameSeconds);
+        int steps = (int) (accumulator / step);
+        if (steps > maxSteps) {
+            steps = maxSteps;
+            accumulator = steps * step; // drop the backlog
+        }
+        accumulator -= steps * step;
+        return steps;
+    }
+
+    /** @return length of one simulation step, in seconds */
+    public double getStep() {
+        return step;
+    }
+
+    /**
+     * @return fraction of a step, in [0,1), by which the current moment is
+     *         ahead of the last simulated state
+     */
+    public double getAlpha() {
+        return Math.min(accumulator / step, 1.0);
+    }
+}
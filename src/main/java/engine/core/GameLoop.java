@@ -8,28 +8,44 @@ import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.paint.Color;
+import engine.Camera;
 import engine.input.InputHandler;
 import engine.level.LevelManager;
+import engine.render.EntityRenderer;
+import engine.render.SpriteCache;
+import engine.render.TileTextures;
+import engine.render.WorldRenderer;
 import engine.ui.UIManager;
 import entity.Player;
 import entity.NPC;
-import entity.ItemEntity;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.scene.text.Text;
+import util.TileConstants;
 
-import java.util.Iterator;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Main game loop that drives updating of game state and rendering of each frame.
  * <p>
  * Extends JavaFX's AnimationTimer to provide a continuous loop, handling input,
- * physics/world updates, and drawing to the canvas.
+ * physics/world updates, and drawing to the canvas. The simulation advances in
+ * fixed {@link Simulation} steps from a {@link FixedTimestep}, independent of
+ * the display refresh rate, and each frame is drawn with the player
+ * interpolated between the last two steps. This class and the renderers it
+ * owns are the only JavaFX-dependent part of a frame.
  * </p>
  */
 public class GameLoop extends AnimationTimer {
     private long lastTime = 0;
+    private final FixedTimestep timestep = new FixedTimestep();
+    private final Simulation simulation;
+    /** Renderer reused across levels; its chunk cache follows the current world. */
+    private final WorldRenderer worldRenderer = new WorldRenderer(TileTextures.getShared().getAll());
+    private final EntityRenderer entityRenderer = new EntityRenderer();
+    /** Reused buffer for the NPCs near the view. */
+    private final List<NPC> visibleNpcs = new ArrayList<>();
 
     private final GraphicsContext gc;
     private final Scene scene;
@@ -37,8 +53,6 @@ public class GameLoop extends AnimationTimer {
     private final UIManager uiMgr;
     private final InputHandler input;
     private final Player player;
-    private final List<NPC> npcs;
-    private final List<ItemEntity> items;
 
     // Dimensions of the rendering canvas
     private final int width;
@@ -82,13 +96,14 @@ public class GameLoop extends AnimationTimer {
         this.uiMgr   = uiMgr;
         this.input   = input;
         this.player  = player;
-        this.npcs    = lvlMgr.getNpcs();
-        this.items   = lvlMgr.getItems();
+        this.simulation = new Simulation(lvlMgr, player);
 
         // Register keyboard handlers for pause toggle and game input
         scene.addEventHandler(KeyEvent.KEY_PRESSED, e -> {
             if (e.getCode() == KeyCode.ESCAPE) {
                 uiMgr.togglePause();
+            } else if (e.getCode() == KeyCode.F5) {
+                reloadTextures();
             } else if (uiMgr.isPaused()) {
                 uiMgr.handlePauseInput(e);
             } else {
@@ -103,8 +118,8 @@ public class GameLoop extends AnimationTimer {
     }
 
     /**
-     * Called every frame by JavaFX. Computes delta time and delegates to update
-     * and render methods.
+     * Called every frame by JavaFX. Computes delta time, runs the fixed update
+     * steps it pays for, and renders.
      *
      * @param now timestamp in nanoseconds for the current frame
      */
@@ -118,8 +133,10 @@ public class GameLoop extends AnimationTimer {
         double dt = (now - lastTime) / 1e9;
         lastTime = now;
 
-        update(dt);
-        render();
+        for (int steps = timestep.advance(dt); steps > 0; steps--) {
+            update(timestep.getStep());
+        }
+        render(timestep.getAlpha());
     }
 
     /**
@@ -137,7 +154,7 @@ public class GameLoop extends AnimationTimer {
     /**
      * Updates game state: player, NPCs, items, and transitions, unless paused or game won.
      *
-     * @param dt time elapsed since last frame in seconds
+     * @param dt length of the simulation step in seconds
      */
     private void update(double dt) {
         if (gameWon) {
@@ -150,34 +167,27 @@ public class GameLoop extends AnimationTimer {
             return;
         }
 
-        // Update player movement and physics
-        player.update(dt, lvlMgr.getWorld());
-
-        // Center camera on player
-        lvlMgr.getCamera().centerOn(player.getX(), player.getY());
-
-        // Update and remove collected items
-        Iterator<ItemEntity> it = items.iterator();
-        while (it.hasNext()) {
-            if (it.next().update(player, lvlMgr.getWorld())) {
-                it.remove();
-            }
-        }
-
-        // Update all NPC entities
-        for (NPC npc : npcs) {
-            npc.update(dt, lvlMgr.getWorld());
-        }
+        simulation.step(dt);
+    }
 
-        // Handle level transitions (e.g., entering new rooms)
-        lvlMgr.checkTransitions(player);
+    /**
+     * Development hook: re-decodes tile textures and entity sprites from
+     * resources and re-bakes the visible world.
+     */
+    private void reloadTextures() {
+        TileTextures.getShared().reload();
+        SpriteCache.clear();
+        worldRenderer.clearCache();
     }
 
     /**
      * Renders the entire game frame to the canvas, including background,
      * world tiles, entities, and UI overlays.
+     *
+     * @param alpha fraction of a step elapsed since the last update, used to
+     *              interpolate the player and camera
      */
-    private void render() {
+    private void render(double alpha) {
         // 1) Clear the canvas
         gc.setGlobalAlpha(1.0);
         gc.clearRect(0, 0, width, height);
@@ -204,6 +214,9 @@ public class GameLoop extends AnimationTimer {
             return;
         }
 
+        // Center camera on the interpolated player position
+        lvlMgr.getCamera().centerOn(player.getRenderX(alpha), player.getRenderY(alpha));
+
         // 3) Draw background with simple parallax effect if provided
         if (backgroundImage != null) {
             double parallaxFactor = 0.01;
@@ -220,16 +233,21 @@ public class GameLoop extends AnimationTimer {
         }
 
         // 4) Render world tiles and layers
-        lvlMgr.renderWorld(gc);
+        worldRenderer.render(gc, lvlMgr.getCamera(), lvlMgr.getWorld());
 
         // 5) Render dynamic entities: items, NPCs, and player
-        for (ItemEntity item : items) {
-            item.render(gc, lvlMgr.getCamera());
-        }
-        for (NPC npc : npcs) {
-            npc.render(gc, lvlMgr.getCamera());
+        //    (only NPCs anchored within a sprite size of the view)
+        Camera cam = lvlMgr.getCamera();
+        entityRenderer.render(gc, cam, lvlMgr.getItems(), alpha);
+        double margin = 3 * TileConstants.TILE_SIZE;
+        double vx0 = cam.getWorldX() - margin, vy0 = cam.getWorldY() - margin;
+        double vx1 = cam.getWorldX() + cam.getViewWidth() + margin;
+        double vy1 = cam.getWorldY() + cam.getViewHeight() + margin;
+        visibleNpcs.clear();
+        for (NPC npc : lvlMgr.getNpcGrid().query(vx0, vy0, vx1, vy1, visibleNpcs)) {
+            entityRenderer.render(gc, cam, npc);
         }
-        player.render(gc, lvlMgr.getCamera());
+        entityRenderer.render(gc, lvlMgr.getCamera(), player, alpha);
 
         // 6) Draw UI elements on top of everything
         uiMgr.renderUI(gc);
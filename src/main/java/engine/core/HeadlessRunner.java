@@ -0,0 +1,100 @@
+package engine.core;
+
+import engine.Camera;
+import engine.level.LevelManager;
+import entity.Player;
+import util.Inventory;
+
+import java.util.List;
+
+/**
+ * Runs the game simulation without a display, for soak tests and bots.
+ * <p>
+ * Uses the same {@link Simulation} steps as the windowed game, as fast as
+ * the CPU allows. {@link #main} drives the player with a trivial bot that
+ * walks right and jumps whenever it is blocked, so level transitions (or
+ * chunk streaming in infinite mode) are exercised, and prints the tick rate.
+ * </p>
+ */
+public class HeadlessRunner {
+    /** Camera view, matching the game window, used for chunk streaming. */
+    private static final int VIEW_WIDTH = 1720, VIEW_HEIGHT = 820;
+
+    private final Player player = new Player(0, 0);
+    private final Inventory inventory = new Inventory();
+    private final LevelManager lvlMgr;
+    private final Simulation simulation;
+
+    /**
+     * Creates a runner for the given level files.
+     *
+     * @param levelFiles classpath paths of the levels, in order
+     */
+    public HeadlessRunner(List<String> levelFiles) {
+        lvlMgr = new LevelManager(player, new Camera(0, 0, VIEW_WIDTH, VIEW_HEIGHT), inventory, levelFiles);
+        simulation = new Simulation(lvlMgr, player);
+    }
+
+    /**
+     * Runs {@code ticks} steps of {@code dt} seconds.
+     *
+     * @param ticks number of steps
+     * @param dt    length of each step in seconds
+     */
+    public void run(long ticks, double dt) {
+        for (long i = 0; i < ticks; i++) {
+            simulation.step(dt);
+        }
+    }
+
+    /** @return the player, for bots to control */
+    public Player getPlayer() { return player; }
+
+    /** @return the player's inventory */
+    public Inventory getInventory() { return inventory; }
+
+    /** @return the level manager */
+    public LevelManager getLevelManager() { return lvlMgr; }
+
+    /** @return the simulation being stepped */
+    public Simulation getSimulation() { return simulation; }
+
+    /**
+     * Command-line entry point.
+     *
+     * @param args "--ticks=N" (default 100000) and optionally "--infinite[=seed]"
+     */
+    public static void main(String[] args) {
+        long ticks = 100_000;
+        Long seed = null;
+        for (String arg : args) {
+            if (arg.startsWith("--ticks=")) ticks = Long.parseLong(arg.substring("--ticks=".length()));
+            else if (arg.equals("--infinite")) seed = System.currentTimeMillis();
+            else if (arg.startsWith("--infinite=")) seed = Long.parseLong(arg.substring("--infinite=".length()));
+        }
+
+        HeadlessRunner runner = new HeadlessRunner(List.of("/map1.txt", "/map2.txt", "/map3.txt"));
+        if (seed != null) {
+            runner.getLevelManager().initInfinite(seed);
+        } else {
+            runner.getLevelManager().init();
+        }
+
+        Player p = runner.getPlayer();
+        p.moveRight();
+        double dt = 1.0 / FixedTimestep.DEFAULT_RATE;
+        long start = System.nanoTime();
+        double lastX = p.getX();
+        for (long t = 0; t < ticks; t++) {
+            runner.getSimulation().step(dt);
+            if (p.getX() == lastX) p.jump(); // blocked: try to hop over
+            lastX = p.getX();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%d ticks (%.0f s of game time) in %.2f s: %.0f ticks/s%n",
+                ticks, ticks * dt, seconds, ticks / seconds);
+        System.out.printf("Player at (%.0f, %.0f), level %d, inventory %s%n",
+                p.getX(), p.getY(), runner.getLevelManager().getCurrentLevel(), runner.getInventory().getItems());
+    }
+}
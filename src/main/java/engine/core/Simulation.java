@@ -0,0 +1,102 @@
+package engine.core;
+
+import engine.level.LevelManager;
+import engine.Camera;
+import entity.EntityStore;
+import entity.EntitySystems;
+import entity.NPC;
+import entity.Player;
+import entity.StackMerger;
+import world.World;
+
+/**
+ * One fixed step of game simulation: chunk streaming, player physics, item
+ * physics, pickup and despawning, NPC animation and level transitions.
+ * <p>
+ * Every {@link #MERGE_INTERVAL} steps neighbouring stacks of the same item
+ * are merged, so the number of item entities stays bounded while mining.
+ * </p>
+ * <p>
+ * Nothing here touches JavaFX, so the same steps drive both the windowed
+ * {@link GameLoop} and the display-less {@link HeadlessRunner}.
+ * </p>
+ */
+public class Simulation {
+    /** Seconds a dropped item lies in the world before it despawns, by default. */
+    public static final double DEFAULT_ITEM_DESPAWN_AGE = 300;
+    /** Steps between two stack-merging passes. */
+    public static final int MERGE_INTERVAL = 30;
+
+    private final LevelManager lvlMgr;
+    private final Player player;
+    private final StackMerger merger = new StackMerger(LevelManager.DROP_MERGE_RADIUS);
+    private double itemDespawnAge = DEFAULT_ITEM_DESPAWN_AGE;
+    private long ticks;
+
+    /**
+     * @param lvlMgr the level manager holding the world and its entities
+     * @param player the player entity
+     */
+    public Simulation(LevelManager lvlMgr, Player player) {
+        this.lvlMgr = lvlMgr;
+        this.player = player;
+    }
+
+    /**
+     * Advances the game by one step.
+     *
+     * @param dt length of the step in seconds
+     */
+    public void step(double dt) {
+        // Generate chunks around the player in infinite mode
+        lvlMgr.streamChunks();
+
+        // Update player movement and physics
+        player.update(dt, lvlMgr.getWorld());
+
+        // Keep the camera on the player so streaming follows it even without a renderer
+        lvlMgr.getCamera().centerOn(player.getX(), player.getY());
+
+        // Move items within a chunk of the view, then collect those the player touches
+        EntityStore items = lvlMgr.getItems();
+        Camera cam = lvlMgr.getCamera();
+        double margin = World.CHUNK_SIZE * lvlMgr.getTileSize();
+        EntitySystems.physics(items, lvlMgr.getWorld(), dt,
+                cam.getWorldX() - margin, cam.getWorldY() - margin,
+                cam.getWorldX() + cam.getViewWidth() + margin,
+                cam.getWorldY() + cam.getViewHeight() + margin);
+        EntitySystems.pickup(items, player, lvlMgr.getInventory());
+        EntitySystems.despawn(items, dt, itemDespawnAge);
+        if (ticks % MERGE_INTERVAL == 0) {
+            merger.merge(items);
+        }
+
+        // Update all NPC entities
+        for (NPC npc : lvlMgr.getNpcs()) {
+            npc.update(dt, lvlMgr.getWorld());
+        }
+
+        // Handle level transitions (e.g., entering new rooms)
+        lvlMgr.checkTransitions(player);
+        ticks++;
+    }
+
+    /**
+     * Sets how long dropped items last. Items placed by the level never despawn.
+     *
+     * @param seconds lifetime in seconds; 0 or less keeps drops forever
+     */
+    public void setItemDespawnAge(double seconds) {
+        this.itemDespawnAge = seconds;
+    }
+
+    /** @return lifetime of dropped items in seconds; 0 or less means forever */
+    public double getItemDespawnAge() { return itemDespawnAge; }
+
+    /**
+     * @return number of steps run so far
+     */
+    public long getTicks() {
+        return ticks;
+    }
+}
@@ -10,6 +10,7 @@ import javafx.scene.input.MouseEvent;
 import world.ItemType;
 import world.TileType;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -24,7 +25,8 @@ public class InputHandler {
     private final Player player;
     private final LevelManager lvlMgr;
     private final UIManager uiMgr;
-    private final List<NPC> npcs;
+    /** Reused buffer for the NPCs near the player. */
+    private final List<NPC> nearby = new ArrayList<>();
 
     /**
      * Constructs an InputHandler to process user events.
@@ -32,16 +34,13 @@ public class InputHandler {
      * @param player the player entity to control
      * @param lvlMgr the level manager for world interactions
      * @param uiMgr  the UI manager to handle menu states
-     * @param npcs   the list of NPCs for interaction events
      */
     public InputHandler(Player player,
                         LevelManager lvlMgr,
-                        UIManager uiMgr,
-                        List<NPC> npcs) {
+                        UIManager uiMgr) {
         this.player = player;
         this.lvlMgr  = lvlMgr;
         this.uiMgr   = uiMgr;
-        this.npcs    = npcs;
     }
 
     /**
@@ -80,7 +79,11 @@ public class InputHandler {
             case E -> {
                 double cx = player.getX() + Player.PLAYER_WIDTH  / 2.0;
                 double cy = player.getY() + Player.PLAYER_HEIGHT / 2.0;
-                npcs.forEach(n -> n.interact(cx, cy));
+                // only NPCs within interaction range can respond
+                double r = 1.5 * lvlMgr.getTileSize();
+                nearby.clear();
+                lvlMgr.getNpcGrid().query(cx - r, cy - r, cx + r, cy + r, nearby)
+                      .forEach(n -> n.interact(cx, cy));
             }
 
             case A, LEFT  -> player.moveLeft();
@@ -88,6 +91,7 @@ public class InputHandler {
             case W, UP, SPACE -> player.jump();
 
             case P -> uiMgr.togglePause();
+
             default -> {
                 // No operation for other keys
             }
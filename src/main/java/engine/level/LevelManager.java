@@ -1,14 +1,14 @@
 package engine.level;
 
-import javafx.scene.canvas.GraphicsContext;
 import world.*;
 import util.TileConstants;
 import engine.Camera;
-import world.WorldRenderer;
+import entity.EntityStore;
+import entity.EntitySystems;
 import entity.Player;
-import entity.ItemEntity;
 import entity.NPC;
 import util.Inventory;
+import util.SpatialGrid;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -16,6 +16,24 @@ import java.util.List;
 /**
  * Manages level loading, transitions between levels,
  * and tile operations such as mining and placing.
+ * <p>
+ * The tile registry is shared by every level, so a level transition only
+ * parses map data. Neighbouring levels are parsed ahead of time by a
+ * {@link LevelPrefetcher} while the player nears an edge. Nothing here draws
+ * or loads images; rendering the world is up to the caller, so levels also
+ * run headless.
+ * </p>
+ * <p>
+ * A level that is left goes into a {@link WorldCache}, so mined and placed
+ * tiles survive walking back and forth between levels. Spawned items and
+ * NPCs are not cached and respawn from the level's spawn lists.
+ * </p>
+ * <p>
+ * {@link #initInfinite(long)} switches to infinite-world mode instead: a single
+ * generated world whose chunks a {@link ChunkStreamer} creates around the
+ * camera and player and unloads again once they are far away. There are no
+ * level transitions in this mode.
+ * </p>
  */
 public class LevelManager {
     private final Player player;
@@ -24,10 +42,34 @@ public class LevelManager {
     private final List<String> levelFiles;
     private int currentLevel = 0;
 
+    /** Shared char→tile mapping. */
+    private final TileRegistry registry;
+    /** Recently left levels, with their edits. */
+    private final WorldCache cache = new WorldCache();
+    /** Parses neighbouring levels in the background. */
+    private final LevelPrefetcher prefetcher;
+    /** Fills the world around the player in infinite mode; null otherwise. */
+    private ChunkStreamer streamer;
+    private Level level;
     private World world;
-    private WorldRenderer renderer;
-    private final List<ItemEntity> items = new ArrayList<>();
+    /** Item entities lying in the world, as parallel arrays reused across levels. */
+    private final EntityStore items = new EntityStore(ITEM_CAPACITY);
     private final List<NPC> npcs    = new ArrayList<>();
+    /** NPCs indexed by their origin, for nearby queries. */
+    private final SpatialGrid<NPC> npcGrid = new SpatialGrid<>(GRID_CELL_SIZE);
+
+    /** Height of infinite-mode worlds, in tiles. */
+    public static final int INFINITE_HEIGHT = 4 * World.CHUNK_SIZE;
+    private static final ItemType[] ITEM_TYPES = ItemType.values();
+    /** Drops of the current mining action, reused between actions. */
+    private final TileDrops drops = new TileDrops();
+
+    /** Item slots reserved up front, so ordinary play never grows the store. */
+    public static final int ITEM_CAPACITY = 1024;
+    /** Drops merge into stacks of the same item whose centre is this close: three tiles, in pixels. */
+    public static final double DROP_MERGE_RADIUS = 3 * TileConstants.TILE_SIZE;
+    /** Cell size of the NPC grid: four tiles, in pixels. */
+    public static final int GRID_CELL_SIZE = 4 * TileConstants.TILE_SIZE;
 
     /**
      * Constructs a LevelManager with required game components.
@@ -45,6 +87,8 @@ public class LevelManager {
         this.camera     = camera;
         this.inventory  = inventory;
         this.levelFiles = levelFiles;
+        this.registry   = TileRegistry.getShared();
+        this.prefetcher = new LevelPrefetcher(levelFiles.size(), this::readLevel, cache::isResident);
     }
 
     /**
@@ -57,9 +101,9 @@ public class LevelManager {
     /**
      * Loads the level at the specified index.
      * <ol>
-     *   <li>Registers tile types</li>
-     *   <li>Parses the map file</li>
-     *   <li>Creates World and WorldRenderer</li>
+     *   <li>Stores the level being left in the cache</li>
+     *   <li>Takes the level from the cache or the prefetcher, or reads it now</li>
+     *   <li>Installs the new World</li>
      *   <li>Spawns items and NPCs</li>
      *   <li>Positions the player and centers the camera</li>
      * </ol>
@@ -67,28 +111,64 @@ public class LevelManager {
      * @param index the index of the level to load
      */
     public void loadLevel(int index) {
+        if (level != null && streamer == null) {
+            cache.put(currentLevel, level);
+        }
+        streamer = null;
         currentLevel = index;
 
-        // 1) Register tiles
-        TileRegistry registry = new TileRegistry();
+        // 1) Load level data: an in-memory cached copy, then a prefetched one
+        Level lvl = cache.isResident(index) ? cache.take(index) : prefetcher.take(index);
+        if (lvl == null) {
+            lvl = readLevel(index);
+        }
 
-        // 2) Load level data
-        Level lvl = WorldLoader.loadLevel(levelFiles.get(index), registry);
+        // 2) Install world and spawn entities
+        install(lvl);
 
-        // 3) Create world and renderer
-        this.world    = new World(lvl.getTiles());
-        this.renderer = new WorldRenderer(registry.getAllTextures());
+        // 3) Position player at surface and center camera
+        int sx = world.getWidth() / 2;
+        placePlayerAt(sx, world.getSurfaceY(sx));
+    }
 
-        // 4) Spawn items at tile locations
+    /**
+     * Starts infinite-world mode: replaces the current level with an endless
+     * world generated from the given seed and puts the player on its surface.
+     *
+     * @param seed terrain seed; the same seed always produces the same world
+     */
+    public void initInfinite(long seed) {
+        if (level != null && streamer == null) {
+            cache.put(currentLevel, level);
+        }
+        ChunkedTerrainGenerator gen = new ChunkedTerrainGenerator(seed, INFINITE_HEIGHT);
+        World w = new World(ChunkStreamer.INFINITE_WIDTH, gen.getHeight());
+        int sx = w.getWidth() / 2;
+        install(new Level(w, List.of(), List.of(new Level.NPCSpawn("bro", sx + 4, gen.surfaceY(sx + 4) - 1))));
+        streamer = new ChunkStreamer(w, gen);
+        streamer.ensureLoaded(sx - World.CHUNK_SIZE, 0, sx + World.CHUNK_SIZE, w.getHeight() - 1);
+        placePlayerAt(sx, gen.surfaceY(sx));
+    }
+
+    /**
+     * Installs a level's world and spawns its items and NPCs.
+     */
+    private void install(Level lvl) {
+        this.level = lvl;
+        this.world = lvl.getWorld();
+
+        // Spawn items at tile locations
         items.clear();
         for (var spawn : lvl.getItemSpawns()) {
-            double px = spawn.tileX * TileConstants.TILE_SIZE;
-            double py = spawn.tileY * TileConstants.TILE_SIZE;
-            items.add(new ItemEntity(spawn.itemType, inventory, px, py));
+            int i = spawnItem(spawn.itemType,
+                    spawn.tileX * TileConstants.TILE_SIZE,
+                    spawn.tileY * TileConstants.TILE_SIZE);
+            items.setPermanent(i, true); // placed by the level: never despawns
         }
 
-        // 5) Spawn NPCs with dialogues
+        // Spawn NPCs with dialogues
         npcs.clear();
+        npcGrid.clear();
         for (var spawn : lvl.getNpcSpawns()) {
             String[] dialog;
             if ("bro".equals(spawn.npcId)) {
@@ -103,37 +183,73 @@ public class LevelManager {
             }
             double nx = spawn.tileX * TileConstants.TILE_SIZE;
             double ny = spawn.tileY * TileConstants.TILE_SIZE;
-            npcs.add(new NPC(nx, ny, dialog));
+            NPC npc = new NPC(nx, ny, dialog);
+            npcs.add(npc);
+            npcGrid.insert(npc, nx, ny);
         }
+    }
 
-        // 6) Position player at surface and center camera
-        int sx = world.getWidth() / 2;
-        int sy = world.getSurfaceY(sx) - 1;
+    /**
+     * Puts the player in column {@code tileX}, feet on top of surface row
+     * {@code surfaceY}; the sprite is taller than a tile, so placing its top
+     * one tile above the surface would sink it into the ground.
+     */
+    private void placePlayerAt(int tileX, int surfaceY) {
         player.setPosition(
-                sx * TileConstants.TILE_SIZE,
-                sy * TileConstants.TILE_SIZE
+                tileX * TileConstants.TILE_SIZE,
+                surfaceY * TileConstants.TILE_SIZE - Player.PLAYER_HEIGHT
         );
         camera.centerOn(player.getX(), player.getY());
     }
 
     /**
-     * Renders the tile-based world using the provided graphics context.
-     *
-     * @param gc the GraphicsContext used for drawing
+     * In infinite mode, generates the chunks under the camera view (plus one
+     * chunk of margin) and the player's collision box, and unloads far ones.
+     * Call once per frame before physics; does nothing for file levels.
+     */
+    public void streamChunks() {
+        if (streamer == null) return;
+        int ts = TileConstants.TILE_SIZE;
+        int px0 = (int) (player.getX() / ts) - 1;
+        int py0 = (int) (player.getY() / ts) - 1;
+        int px1 = (int) ((player.getX() + Player.PLAYER_WIDTH)  / ts) + 1;
+        int py1 = (int) ((player.getY() + Player.PLAYER_HEIGHT) / ts) + 1;
+        int vx0 = (int) (camera.getWorldX() / ts) - World.CHUNK_SIZE;
+        int vy0 = (int) (camera.getWorldY() / ts) - World.CHUNK_SIZE;
+        int vx1 = (int) ((camera.getWorldX() + camera.getViewWidth())  / ts) + World.CHUNK_SIZE;
+        int vy1 = (int) ((camera.getWorldY() + camera.getViewHeight()) / ts) + World.CHUNK_SIZE;
+        streamer.ensureLoaded(Math.min(px0, vx0), Math.min(py0, vy0),
+                              Math.max(px1, vx1), Math.max(py1, vy1));
+        streamer.unloadFar((px0 + px1) / 2, (py0 + py1) / 2);
+    }
+
+    /**
+     * Reads a level that is not held in memory: from its spill file if it was
+     * visited before, otherwise from its map file. Safe to call from the
+     * prefetch thread.
      */
-    public void renderWorld(GraphicsContext gc) {
-        renderer.render(gc, camera, world.getTiles());
+    private Level readLevel(int index) {
+        try {
+            Level lvl = cache.readSpilled(index);
+            if (lvl != null) return lvl;
+        } catch (RuntimeException e) {
+            System.err.println(e.getMessage() + "; reloading the map file");
+        }
+        return WorldLoader.loadLevel(levelFiles.get(index), registry);
     }
 
     /**
      * Checks if the player has moved beyond level boundaries and
-     * transitions to the previous or next level if available.
+     * transitions to the previous or next level if available. Also lets the
+     * prefetcher start loading a neighbour when the player nears an edge.
      *
      * @param player the player entity to check position for
      */
     public void checkTransitions(Player player) {
+        if (streamer != null) return;
         int ts = TileConstants.TILE_SIZE;
         int tx = (int)(player.getX() / ts);
+        prefetcher.update(currentLevel, tx, world);
         if (tx < 0 && currentLevel > 0) {
             // Move to previous level
             loadLevel(currentLevel - 1);
@@ -149,13 +265,37 @@ public class LevelManager {
     }
 
     /**
-     * Mines the tile at the specified tile coordinates.
+     * Drops a one-tile item entity into the world; it falls until it lands.
+     *
+     * @param type the item type
+     * @param x    left edge in pixels
+     * @param y    top edge in pixels
+     * @return the entity's index in {@link #getItems()}
+     */
+    public int spawnItem(ItemType type, double x, double y) {
+        int ts = TileConstants.TILE_SIZE;
+        return items.add(type.ordinal(), x, y, ts, ts);
+    }
+
+    /**
+     * Mines the tile at the specified tile coordinates and drops what the
+     * broken tiles yield: one stack per item type, merged into nearby stacks
+     * of the same item where possible.
      *
      * @param tx the x-coordinate of the tile
      * @param ty the y-coordinate of the tile
      */
     public void mineTile(int tx, int ty) {
-        world.mineTile(tx, ty);
+        world.mineTile(tx, ty, drops);
+        if (drops.isEmpty()) return;
+        int ts = TileConstants.TILE_SIZE;
+        for (ItemType type : ITEM_TYPES) {
+            int n = drops.getCount(type);
+            if (n == 0) continue;
+            EntitySystems.spawnStack(items, type.ordinal(), n,
+                    drops.getCenterX(type) * ts, drops.getCenterY(type) * ts, ts, DROP_MERGE_RADIUS);
+        }
+        drops.clear();
     }
 
     /**
@@ -176,11 +316,6 @@ public class LevelManager {
      */
     public World getWorld() { return world; }
 
-    /**
-     * @return the world renderer used for drawing tiles
-     */
-    public WorldRenderer getRenderer() { return renderer; }
-
     /**
      * @return the camera tracking the player
      */
@@ -192,17 +327,43 @@ public class LevelManager {
     public int getTileSize() { return TileConstants.TILE_SIZE; }
 
     /**
-     * @return list of active item entities in the level
+     * @return the item entities in the level; sprite ids are
+     *         {@link ItemType} ordinals
      */
-    public List<ItemEntity> getItems() { return items; }
+    public EntityStore getItems() { return items; }
+
+    /**
+     * @return the player's inventory, which picked-up items go to
+     */
+    public Inventory getInventory() { return inventory; }
 
     /**
      * @return list of active NPC entities in the level
      */
     public List<NPC> getNpcs() { return npcs; }
 
+    /**
+     * @return the level's NPCs indexed by origin, for interaction and
+     *         rendering queries
+     */
+    public SpatialGrid<NPC> getNpcGrid() { return npcGrid; }
+
     /**
      * @return the index of the currently loaded level
      */
     public int getCurrentLevel() { return currentLevel; }
+
+    /**
+     * @return true if the infinite world is active rather than a level file
+     */
+    public boolean isInfinite() { return streamer != null; }
+
+    /**
+     * @return seed of the infinite world
+     * @throws IllegalStateException if not in infinite mode
+     */
+    public long getInfiniteSeed() {
+        if (streamer == null) throw new IllegalStateException("Not in infinite mode");
+        return streamer.getGenerator().getSeed();
+    }
 }
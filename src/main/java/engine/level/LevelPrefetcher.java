@@ -0,0 +1,166 @@
+package engine.level;
+
+import world.Level;
+import world.World;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+
+/**
+ * Loads the levels next to the current one on a background thread while the
+ * player approaches a map edge, so a transition only has to swap in a world
+ * that is already parsed.
+ * <p>
+ * Only {@link Level} data (tiles and spawn lists) is built in the background;
+ * entities are still spawned on the JavaFX thread by {@link LevelManager}.
+ * A neighbour is requested once the player is within {@code prefetchDistance}
+ * tiles of that edge and dropped again when they walk more than twice that
+ * distance away. Finished levels whose combined tile count would exceed
+ * {@code maxPrefetchedTiles} are discarded and not requested again until
+ * they are dropped, so the transition falls back to a synchronous load.
+ * Levels for which {@code skip} answers true, such as ones still held by a
+ * {@link WorldCache}, are never requested.
+ * </p>
+ */
+public class LevelPrefetcher {
+    /** Default distance from a map edge, in tiles, at which prefetching starts. */
+    public static final int  DEFAULT_PREFETCH_DISTANCE = 48;
+    /** Default cap on the total tiles held by prefetched levels. */
+    public static final long DEFAULT_MAX_PREFETCHED_TILES = 4_000_000L;
+
+    private final int levelCount;
+    private final IntFunction<Level> loader;
+    private final IntPredicate skip;
+    private final int prefetchDistance;
+    private final long maxPrefetchedTiles;
+
+    /** Level index → in-flight or finished load. Accessed only from the caller's thread. */
+    private final Map<Integer, Future<Level>> pending = new HashMap<>();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "level-prefetch");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /**
+     * Creates a prefetcher with the default distance and memory limit.
+     *
+     * @param levelCount number of levels
+     * @param loader     loads a level by index; runs on the background thread
+     * @param skip       answers true for levels that need no prefetch
+     */
+    public LevelPrefetcher(int levelCount, IntFunction<Level> loader, IntPredicate skip) {
+        this(levelCount, loader, skip, DEFAULT_PREFETCH_DISTANCE, DEFAULT_MAX_PREFETCHED_TILES);
+    }
+
+    /**
+     * @param levelCount         number of levels
+     * @param loader             loads a level by index; runs on the background thread
+     * @param skip               answers true for levels that need no prefetch
+     * @param prefetchDistance   distance from an edge, in tiles, that triggers a prefetch
+     * @param maxPrefetchedTiles cap on the combined width*height of prefetched levels
+     */
+    public LevelPrefetcher(int levelCount,
+                           IntFunction<Level> loader,
+                           IntPredicate skip,
+                           int prefetchDistance,
+                           long maxPrefetchedTiles) {
+        this.levelCount         = levelCount;
+        this.loader             = loader;
+        this.skip               = skip;
+        this.prefetchDistance   = prefetchDistance;
+        this.maxPrefetchedTiles = maxPrefetchedTiles;
+    }
+
+    /**
+     * Starts or drops background loads based on the player's position. Call once per frame.
+     *
+     * @param currentLevel index of the level the player is in
+     * @param playerTileX  the player's tile X coordinate
+     * @param world        the current world
+     */
+    public void update(int currentLevel, int playerTileX, World world) {
+        int toLeft  = playerTileX;
+        int toRight = world.getWidth() - 1 - playerTileX;
+
+        // forget levels that are no longer neighbours or that the player walked away from
+        Iterator<Map.Entry<Integer, Future<Level>>> it = pending.entrySet().iterator();
+        while (it.hasNext()) {
+            var e = it.next();
+            int idx = e.getKey();
+            boolean keep = (idx == currentLevel - 1 && toLeft  <= 2 * prefetchDistance)
+                        || (idx == currentLevel + 1 && toRight <= 2 * prefetchDistance);
+            if (!keep) {
+                e.getValue().cancel(false);
+                it.remove();
+            }
+        }
+
+        if (toLeft  < prefetchDistance) request(currentLevel - 1);
+        if (toRight < prefetchDistance) request(currentLevel + 1);
+        enforceBudget();
+    }
+
+    /**
+     * Hands over a prefetched level, waiting for it if the load is still running.
+     *
+     * @param index level index
+     * @return the loaded Level, or {@code null} if it was never requested, failed,
+     *         or was discarded (the caller should then load it synchronously)
+     */
+    public Level take(int index) {
+        Future<Level> f = pending.remove(index);
+        if (f == null) return null;
+        try {
+            return f.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            System.err.println("Prefetch of level " + index + " failed: " + e.getCause());
+            return null;
+        } catch (CancellationException e) {
+            return null;
+        }
+    }
+
+    private void request(int index) {
+        if (index < 0 || index >= levelCount || pending.containsKey(index) || skip.test(index)) return;
+        pending.put(index, executor.submit(() -> loader.apply(index)));
+    }
+
+    /**
+     * Discards finished levels once their combined tile count passes the limit.
+     * A discarded entry is replaced by a {@code null} result rather than removed,
+     * so {@link #update} does not immediately request it again.
+     */
+    private void enforceBudget() {
+        long total = 0;
+        for (Map.Entry<Integer, Future<Level>> e : pending.entrySet()) {
+            Future<Level> f = e.getValue();
+            if (!f.isDone() || f.isCancelled()) continue;
+            try {
+                Level lvl = f.get();
+                if (lvl == null) continue;
+                World w = lvl.getWorld();
+                long tiles = (long) w.getWidth() * w.getHeight();
+                if (total + tiles > maxPrefetchedTiles) {
+                    e.setValue(CompletableFuture.completedFuture(null));
+                } else {
+                    total += tiles;
+                }
+            } catch (InterruptedException | ExecutionException ex) {
+                // failed loads are reported by take(); keep them until then
+            }
+        }
+    }
+}
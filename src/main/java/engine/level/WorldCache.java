@@ -0,0 +1,140 @@
+package engine.level;
+
+import world.Level;
+import world.LevelStore;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps recently visited levels, with every tile edit made to them, so
+ * walking back into a level restores it exactly as it was left.
+ * <p>
+ * Levels are held in memory in least-recently-used order until their
+ * combined {@link world.World#estimateBytes() tile data} exceeds
+ * {@code maxBytes}. The oldest levels are then spilled to a temporary
+ * directory with {@link LevelStore} and dropped from memory; reading a
+ * spilled level back is much cheaper than parsing its map file and keeps
+ * its edits. Spill files are deleted when the JVM exits.
+ * </p>
+ * <p>
+ * {@link #put}, {@link #take} and {@link #isResident} must be called from
+ * one thread. {@link #readSpilled} and {@link #isSpilled} may also be called
+ * from a loader thread.
+ * </p>
+ */
+public class WorldCache {
+    /** Default memory budget for cached levels. */
+    public static final long DEFAULT_MAX_BYTES = 32L * 1024 * 1024;
+
+    private final long maxBytes;
+    private final Map<Integer, Level> resident = new LinkedHashMap<>(16, 0.75f, true);
+    private final Set<Integer> spilled = ConcurrentHashMap.newKeySet();
+    private Path spillDir;
+
+    /**
+     * Creates a cache with the {@link #DEFAULT_MAX_BYTES default} budget.
+     */
+    public WorldCache() {
+        this(DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * @param maxBytes memory budget for levels held in memory
+     */
+    public WorldCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Stores a level that is being left, then spills the least recently used
+     * levels until the rest fit the budget. The level just stored always
+     * stays in memory.
+     *
+     * @param index level index
+     * @param level the level, with its current edits
+     */
+    public void put(int index, Level level) {
+        resident.put(index, level);
+        long total = 0;
+        for (Level l : resident.values()) total += l.getWorld().estimateBytes();
+
+        Iterator<Map.Entry<Integer, Level>> it = resident.entrySet().iterator();
+        while (total > maxBytes && it.hasNext()) {
+            var e = it.next();
+            if (e.getKey() == index) break;
+            total -= e.getValue().getWorld().estimateBytes();
+            spill(e.getKey(), e.getValue());
+            it.remove();
+        }
+    }
+
+    /**
+     * Removes and returns a level held in memory, or reads it back from disk
+     * if it was spilled.
+     *
+     * @param index level index
+     * @return the cached level, or {@code null} if it was never cached
+     */
+    public Level take(int index) {
+        Level l = resident.remove(index);
+        return l != null ? l : readSpilled(index);
+    }
+
+    /**
+     * @param index level index
+     * @return true if the level is currently held in memory
+     */
+    public boolean isResident(int index) {
+        return resident.containsKey(index);
+    }
+
+    /**
+     * @param index level index
+     * @return true if the level has a spill file
+     */
+    public boolean isSpilled(int index) {
+        return spilled.contains(index);
+    }
+
+    /**
+     * Reads a spilled level from disk. The spill file is kept, so this may be
+     * called ahead of time from a loader thread.
+     *
+     * @param index level index
+     * @return the stored level, or {@code null} if it was never spilled
+     * @throws RuntimeException if the spill file cannot be read
+     */
+    public Level readSpilled(int index) {
+        if (!spilled.contains(index)) return null;
+        return LevelStore.read(spillFile(index));
+    }
+
+    private void spill(int index, Level level) {
+        try {
+            if (spillDir == null) {
+                spillDir = Files.createTempDirectory("levels");
+                spillDir.toFile().deleteOnExit();
+            }
+            Path file = spillFile(index);
+            if (spilled.add(index)) {
+                file.toFile().deleteOnExit();
+            }
+            LevelStore.write(level, file);
+        } catch (IOException | RuntimeException e) {
+            // edits are lost, but the map file can still be loaded
+            spilled.remove(index);
+            System.err.println("Could not spill level " + index + ": " + e.getMessage());
+        }
+    }
+
+    private Path spillFile(int index) {
+        return spillDir.resolve("level" + index + ".bin");
+    }
+}
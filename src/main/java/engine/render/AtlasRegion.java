@@ -0,0 +1,56 @@
+package engine.render;
+
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+
+/**
+ * Handle to one sprite inside a {@link TextureAtlas} page.
+ * <p>
+ * Drawing goes through the source-rectangle overload of
+ * {@link GraphicsContext#drawImage(Image, double, double, double, double, double, double, double, double)},
+ * so every region on the same page shares one texture.
+ * </p>
+ */
+public class AtlasRegion {
+    private final Image page;
+    private final int x, y, width, height;
+
+    /**
+     * @param page   the atlas page holding the pixels
+     * @param x      left edge of the sprite within the page
+     * @param y      top edge of the sprite within the page
+     * @param width  sprite width in pixels
+     * @param height sprite height in pixels
+     */
+    public AtlasRegion(Image page, int x, int y, int width, int height) {
+        this.page   = page;
+        this.x      = x;
+        this.y      = y;
+        this.width  = width;
+        this.height = height;
+    }
+
+    /**
+     * Draws this sprite scaled into the given destination rectangle.
+     *
+     * @param gc the GraphicsContext to draw on
+     * @param dx destination X
+     * @param dy destination Y
+     * @param dw destination width
+     * @param dh destination height
+     */
+    public void draw(GraphicsContext gc, double dx, double dy, double dw, double dh) {
+        gc.drawImage(page, x, y, width, height, dx, dy, dw, dh);
+    }
+
+    /** @return the atlas page image this region lives on */
+    public Image getPage() { return page; }
+    /** @return left edge within the page */
+    public int getX() { return x; }
+    /** @return top edge within the page */
+    public int getY() { return y; }
+    /** @return width in pixels */
+    public int getWidth() { return width; }
+    /** @return height in pixels */
+    public int getHeight() { return height; }
+}
@@ -0,0 +1,172 @@
+package engine.render;
+
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import util.TileConstants;
+import world.Chunk;
+import world.TileChangeListener;
+import world.World;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caches a pre-rendered image of each {@link Chunk} so the world can be drawn
+ * with one {@code drawImage} call per visible chunk instead of one per tile.
+ * <p>
+ * Chunks are baked on demand into an offscreen {@link Canvas} and captured with
+ * {@link Canvas#snapshot}. The cache listens to the world's
+ * {@link TileChangeListener tile changes} and marks every chunk overlapping a
+ * changed rectangle, grown by one tile because autotiling looks at
+ * neighbours, as stale, as well as every chunk whose light changed; only
+ * stale chunks are re-baked. Least recently drawn
+ * images are evicted once more than {@link #MAX_CACHED} chunks are cached.
+ * </p>
+ * <p>
+ * Baking uses the JavaFX scene graph, so this class must only be used on the
+ * JavaFX application thread.
+ * </p>
+ */
+public class ChunkRenderCache implements TileChangeListener {
+    /** Maximum number of baked chunk images kept alive. */
+    public static final int MAX_CACHED = 96;
+
+    /**
+     * Paints the tiles of one chunk into a graphics context whose origin is the
+     * chunk's top-left corner.
+     */
+    public interface ChunkPainter {
+        /**
+         * @param gc    context to paint into, in chunk-local pixels
+         * @param world the world the chunk belongs to
+         * @param cx    chunk X coordinate
+         * @param cy    chunk Y coordinate; the chunk may be unallocated, i.e. all air
+         */
+        void paint(GraphicsContext gc, World world, int cx, int cy);
+    }
+
+    /** A baked chunk image and whether a tile change has invalidated it. */
+    private static class Baked {
+        final WritableImage image;
+        boolean stale = false;
+
+        Baked(WritableImage image) {
+            this.image = image;
+        }
+    }
+
+    private final ChunkPainter painter;
+    private final Map<Long, Baked> baked = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Baked> eldest) {
+            return size() > MAX_CACHED;
+        }
+    };
+
+    /** Offscreen canvas reused for every bake. */
+    private Canvas bakeCanvas;
+    private final SnapshotParameters snapshotParams = new SnapshotParameters();
+    /** World the cached images belong to; switching worlds drops the cache. */
+    private World world;
+
+    /**
+     * @param painter callback that draws a chunk's tiles for baking
+     */
+    public ChunkRenderCache(ChunkPainter painter) {
+        this.painter = painter;
+        snapshotParams.setFill(Color.TRANSPARENT);
+    }
+
+    /**
+     * Returns an up-to-date image of the given chunk, baking it if it is
+     * missing or stale. Unallocated chunks can be baked too, e.g. to shade
+     * an unlit cave.
+     *
+     * @param world the world the chunk belongs to
+     * @param cx    chunk X coordinate
+     * @param cy    chunk Y coordinate
+     * @return the baked image, {@value World#CHUNK_SIZE} tiles on each side
+     */
+    public Image get(World world, int cx, int cy) {
+        if (this.world != world) {
+            attach(world);
+        }
+        long key = World.chunkKey(cx, cy);
+        Baked b = baked.get(key);
+        if (b == null || b.stale) {
+            b = new Baked(bake(world, cx, cy, b == null ? null : b.image));
+            baked.put(key, b);
+        }
+        return b.image;
+    }
+
+    /**
+     * Drops every cached image.
+     */
+    public void clear() {
+        baked.clear();
+    }
+
+    /**
+     * Marks every cached chunk that the changed region can affect as stale.
+     */
+    @Override
+    public void tilesChanged(World world, int x, int y, int width, int height) {
+        if (world != this.world) return;
+        // autotiling reads the neighbours of each tile, so grow by one
+        int cx0 = (x - 1) >> World.CHUNK_SHIFT, cx1 = (x + width)  >> World.CHUNK_SHIFT;
+        int cy0 = (y - 1) >> World.CHUNK_SHIFT, cy1 = (y + height) >> World.CHUNK_SHIFT;
+        for (int cy = cy0; cy <= cy1; cy++) {
+            for (int cx = cx0; cx <= cx1; cx++) {
+                Baked b = baked.get(World.chunkKey(cx, cy));
+                if (b != null) b.stale = true;
+            }
+        }
+    }
+
+    /**
+     * Marks every cached chunk holding a relit tile as stale, since light is
+     * baked into the images as a tint.
+     */
+    @Override
+    public void lightChanged(World world, int x, int y, int width, int height) {
+        if (world != this.world) return;
+        for (int cy = y >> World.CHUNK_SHIFT; cy <= (y + height - 1) >> World.CHUNK_SHIFT; cy++) {
+            for (int cx = x >> World.CHUNK_SHIFT; cx <= (x + width - 1) >> World.CHUNK_SHIFT; cx++) {
+                Baked b = baked.get(World.chunkKey(cx, cy));
+                if (b != null) b.stale = true;
+            }
+        }
+    }
+
+    /**
+     * Switches the cache to another world: drops all images and moves the
+     * change listener over.
+     */
+    private void attach(World newWorld) {
+        if (world != null) world.removeChangeListener(this);
+        clear();
+        world = newWorld;
+        world.addChangeListener(this);
+    }
+
+    /**
+     * Paints a chunk into the offscreen canvas and snapshots it.
+     *
+     * @param reuse a previous image of the right size to overwrite, or null
+     */
+    private WritableImage bake(World world, int cx, int cy, WritableImage reuse) {
+        int px = World.CHUNK_SIZE * TileConstants.TILE_SIZE;
+        if (bakeCanvas == null) {
+            bakeCanvas = new Canvas(px, px);
+        }
+        GraphicsContext gc = bakeCanvas.getGraphicsContext2D();
+        gc.clearRect(0, 0, px, px);
+        painter.paint(gc, world, cx, cy);
+        return bakeCanvas.snapshot(snapshotParams, reuse);
+    }
+}
@@ -0,0 +1,91 @@
+package engine.render;
+
+import engine.Camera;
+import entity.EntityStore;
+import entity.NPC;
+import entity.Player;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import util.TileConstants;
+import world.ItemType;
+
+/**
+ * Draws the player, NPCs and items from their simulation state.
+ * <p>
+ * Entities only expose position and animation state; this class resolves
+ * that state to sprites from the {@link SpriteCache}, so the entity classes
+ * never touch JavaFX and can run headless.
+ * </p>
+ */
+public class EntityRenderer {
+    /** NPC sprites are drawn this many tiles wide and tall. */
+    private static final double NPC_SCALE = 3.0;
+    /** Font of the count drawn on item stacks. */
+    private static final Font STACK_FONT = Font.font("Consolas", 10);
+
+    /**
+     * Draws the player between its previous and current position.
+     *
+     * @param gc     the graphics context for drawing
+     * @param cam    the camera for world-to-screen translation
+     * @param player the player
+     * @param alpha  interpolation factor: 0 draws the position before the last
+     *               update, 1 the current one
+     */
+    public void render(GraphicsContext gc, Camera cam, Player player, double alpha) {
+        double sx = player.getRenderX(alpha) - cam.getWorldX();
+        double sy = player.getRenderY(alpha) - cam.getWorldY();
+        AtlasRegion[] frames = SpriteCache.getPlayerFrames(
+                player.getAnimation(), player.isBatonEquipped(), player.isFacingRight());
+        int idx = Math.max(0, Math.min(player.getFrameIndex(), frames.length - 1));
+        frames[idx].draw(gc, sx, sy, Player.PLAYER_WIDTH, Player.PLAYER_HEIGHT);
+    }
+
+    /**
+     * Draws an NPC with its current animation frame, offset so the sprite
+     * stands on the NPC's tile.
+     *
+     * @param gc  the graphics context for drawing
+     * @param cam the camera for world-to-screen translation
+     * @param npc the NPC
+     */
+    public void render(GraphicsContext gc, Camera cam, NPC npc) {
+        double size = TileConstants.TILE_SIZE * NPC_SCALE;
+        double sx = npc.getX() - cam.getWorldX();
+        double sy = npc.getY() - cam.getWorldY() + TileConstants.TILE_SIZE - size;
+        SpriteCache.getNpcFrames()[npc.getFrameIndex()].draw(gc, sx, sy, size, size);
+    }
+
+    /**
+     * Draws the item entities whose box overlaps the camera view, found
+     * through the store's grid, between their previous and current position.
+     * Stacks of more than one item show their count.
+     *
+     * @param gc    the graphics context for drawing
+     * @param cam   the camera for world-to-screen translation
+     * @param items item entities, sprite ids being {@link ItemType} ordinals
+     * @param alpha interpolation factor: 0 draws the positions before the last
+     *              update, 1 the current ones
+     */
+    public void render(GraphicsContext gc, Camera cam, EntityStore items, double alpha) {
+        double cx = cam.getWorldX(), cy = cam.getWorldY();
+        double cw = cam.getViewWidth(), ch = cam.getViewHeight();
+        // one tile of slack covers items drawn short of where they are now
+        int ts = TileConstants.TILE_SIZE;
+        AtlasRegion[] sprites = SpriteCache.getItemSprites();
+        for (int k = 0, found = items.query(cx - ts, cy - ts, cx + cw + ts, cy + ch + ts); k < found; k++) {
+            int i = items.getHit(k);
+            double sx = items.getRenderX(i, alpha) - cx, sy = items.getRenderY(i, alpha) - cy;
+            double w = items.getWidth(i), h = items.getHeight(i);
+            if (sx + w < 0 || sy + h < 0 || sx > cw || sy > ch) continue;
+            sprites[items.getSprite(i)].draw(gc, sx, sy, w, h);
+            int count = items.getCount(i);
+            if (count > 1) {
+                gc.setFont(STACK_FONT);
+                gc.setFill(Color.WHITE);
+                gc.fillText(Integer.toString(count), sx + w - 6, sy + h);
+            }
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package engine.render;
+
+import entity.NPC;
+import entity.Player;
+import world.ItemType;
+
+/**
+ * Process-wide cache of the entity sprites.
+ * <p>
+ * The first lookup decodes every {@link ItemType} sprite, the NPC idle frames
+ * and the player animations once and packs them into a single
+ * {@link TextureAtlas}; all later lookups return the same {@link AtlasRegion}s,
+ * no matter how many items or NPCs are spawned. Entities themselves hold no
+ * sprites: {@link EntityRenderer} looks them up here when drawing. Item
+ * sprites are resolved into an array indexed by {@link ItemType} ordinal when
+ * the cache loads, and {@link #getItemSprites()} reads it without locking, so
+ * drawing many items costs one array access each.
+ * </p>
+ * <p>
+ * Lifetime is explicit: the cache lives until {@link #clear()} is called,
+ * after which the next lookup reloads from resources, so every entity is
+ * drawn with the new sprites from the next frame on.
+ * </p>
+ */
+public final class SpriteCache {
+    /**
+     * Resource prefixes of the player animations; frame {@code i} is read from
+     * {@code prefix + (i + 1) + ".png"}. Order: idle, idle with baton, run,
+     * jump, each left then right.
+     */
+    private static final String[] PLAYER_PREFIXES = {
+            "/animation/JonkleAnimatedLeftStand",
+            "/animation/JonkleAnimatedStandRight",
+            "/animation/JonkleStandLeftWithBaton",
+            "/animation/JonkleStandRightWithBaton",
+            "/animation/JonkleRunLeft",
+            "/animation/JonkleRunRight",
+            "/animation/JonkleJumpLeft",
+            "/animation/JonkleJumpRight"
+    };
+    private static final int[] PLAYER_FRAME_COUNTS = {
+            Player.IDLE_FRAMES, Player.IDLE_FRAMES, Player.IDLE_FRAMES, Player.IDLE_FRAMES,
+            Player.RUN_FRAMES,  Player.RUN_FRAMES,  Player.JUMP_FRAMES, Player.JUMP_FRAMES
+    };
+
+    private static TextureAtlas atlas;
+    /** Item sprites by {@link ItemType} ordinal; written last when loading, so non-null means loaded. */
+    private static volatile AtlasRegion[] itemSprites;
+    private static AtlasRegion[] npcFrames;
+    /** Player animations, indexed like {@link #PLAYER_PREFIXES}. */
+    private static AtlasRegion[][] playerFrames;
+
+    private SpriteCache() {}
+
+    /**
+     * Returns the shared sprite for an item type, loading the cache if needed.
+     *
+     * @param type the item type
+     * @return its atlas region
+     * @throws RuntimeException if a sprite resource cannot be found
+     */
+    public static AtlasRegion getItemSprite(ItemType type) {
+        return getItemSprites()[type.ordinal()];
+    }
+
+    /**
+     * Returns the shared item sprites indexed by {@link ItemType} ordinal,
+     * loading the cache if needed. Once loaded this takes no lock, so
+     * renderers can fetch the array once per frame and index it per item.
+     *
+     * @return one region per item type; callers must not modify the array
+     * @throws RuntimeException if a sprite resource cannot be found
+     */
+    public static AtlasRegion[] getItemSprites() {
+        AtlasRegion[] sprites = itemSprites;
+        while (sprites == null) {
+            preload();
+            // a concurrent clear() may have dropped them again
+            sprites = itemSprites;
+        }
+        return sprites;
+    }
+
+    /**
+     * Returns the shared NPC idle animation frames, loading the cache if needed.
+     *
+     * @return array of {@link NPC#FRAME_COUNT} regions; callers must not modify it
+     * @throws RuntimeException if a frame resource cannot be found
+     */
+    public static synchronized AtlasRegion[] getNpcFrames() {
+        preload();
+        return npcFrames;
+    }
+
+    /**
+     * Returns the frames of a player animation, loading the cache if needed.
+     *
+     * @param animation   the animation
+     * @param baton       true for the baton variant; only the idle animation has one
+     * @param facingRight true for the right-facing frames
+     * @return the frames; callers must not modify the array
+     * @throws RuntimeException if a frame resource cannot be found
+     */
+    public static synchronized AtlasRegion[] getPlayerFrames(Player.Animation animation,
+                                                             boolean baton, boolean facingRight) {
+        preload();
+        int set = switch (animation) {
+            case IDLE -> baton ? 2 : 0;
+            case RUN  -> 4;
+            case JUMP -> 6;
+        };
+        return playerFrames[set + (facingRight ? 1 : 0)];
+    }
+
+    /**
+     * Decodes and packs every cached sprite now, if not already loaded.
+     * Useful to avoid a hitch on the first spawn.
+     *
+     * @throws RuntimeException if a sprite resource cannot be found
+     */
+    public static synchronized void preload() {
+        if (atlas != null) return;
+        TextureAtlas a = new TextureAtlas();
+        for (ItemType t : ItemType.values()) {
+            a.addResource(t.getSpritePath());
+        }
+        for (int i = 0; i < NPC.FRAME_COUNT; i++) {
+            a.addResource(npcFramePath(i));
+        }
+        for (int s = 0; s < PLAYER_PREFIXES.length; s++) {
+            for (int i = 0; i < PLAYER_FRAME_COUNTS[s]; i++) {
+                a.addResource(PLAYER_PREFIXES[s] + (i + 1) + ".png");
+            }
+        }
+        a.pack();
+
+        npcFrames = new AtlasRegion[NPC.FRAME_COUNT];
+        for (int i = 0; i < NPC.FRAME_COUNT; i++) {
+            npcFrames[i] = a.getRegion(npcFramePath(i));
+        }
+        playerFrames = new AtlasRegion[PLAYER_PREFIXES.length][];
+        for (int s = 0; s < PLAYER_PREFIXES.length; s++) {
+            playerFrames[s] = new AtlasRegion[PLAYER_FRAME_COUNTS[s]];
+            for (int i = 0; i < PLAYER_FRAME_COUNTS[s]; i++) {
+                playerFrames[s][i] = a.getRegion(PLAYER_PREFIXES[s] + (i + 1) + ".png");
+            }
+        }
+        AtlasRegion[] items = new AtlasRegion[ItemType.values().length];
+        for (ItemType t : ItemType.values()) {
+            items[t.ordinal()] = a.getRegion(t.getSpritePath());
+        }
+        atlas = a;
+        itemSprites = items;
+    }
+
+    /**
+     * Releases all cached sprites. The next lookup decodes them again.
+     */
+    public static synchronized void clear() {
+        itemSprites = null;
+        atlas = null;
+        npcFrames = null;
+        playerFrames = null;
+    }
+
+    /** @return true if sprites are currently loaded */
+    public static synchronized boolean isLoaded() {
+        return atlas != null;
+    }
+
+    private static String npcFramePath(int i) {
+        return String.format("/animation/BroMonkeyStand%d.png", i + 1);
+    }
+}
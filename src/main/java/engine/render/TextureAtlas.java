@@ -0,0 +1,156 @@
+package engine.render;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Packs many small images into a few large pages and hands out
+ * {@link AtlasRegion} handles to the packed sprites.
+ * <p>
+ * Usage: {@link #add(String, Image)} or {@link #addResource(String)} every
+ * sprite, call {@link #pack()} once, then look sprites up with
+ * {@link #getRegion(String)}. Images are placed on shelves, tallest first.
+ * Each sprite gets a one-pixel border copied from its own edge pixels, so
+ * scaled or filtered draws never sample a neighbouring sprite.
+ * </p>
+ */
+public class TextureAtlas {
+    /** Default page edge length in pixels. */
+    public static final int DEFAULT_PAGE_SIZE = 1024;
+    /** Extruded border around each sprite. */
+    private static final int PADDING = 1;
+
+    private final int pageSize;
+    private final Map<String, Image> pending = new LinkedHashMap<>();
+    private final Map<String, AtlasRegion> regions = new HashMap<>();
+    private final List<Image> pages = new ArrayList<>();
+
+    /**
+     * Creates an atlas with {@link #DEFAULT_PAGE_SIZE} pages.
+     */
+    public TextureAtlas() {
+        this(DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * @param pageSize maximum page width and height in pixels
+     */
+    public TextureAtlas(int pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Queues an image for packing under the given key.
+     *
+     * @param key   lookup key, e.g. the resource path
+     * @param image a fully loaded image
+     */
+    public void add(String key, Image image) {
+        pending.put(key, image);
+    }
+
+    /**
+     * Loads a classpath image and queues it for packing, keyed by its path.
+     *
+     * @param path resource path, e.g. "/tiles/dirt.png"
+     * @throws RuntimeException if the resource cannot be found
+     */
+    public void addResource(String path) {
+        var is = TextureAtlas.class.getResourceAsStream(path);
+        if (is == null) {
+            throw new RuntimeException("Texture not found: " + path);
+        }
+        add(path, new Image(is));
+    }
+
+    /**
+     * Packs every queued image into pages. Sprites packed by earlier calls
+     * keep their regions; new ones go onto new pages.
+     */
+    public void pack() {
+        List<Map.Entry<String, Image>> todo = new ArrayList<>(pending.entrySet());
+        pending.clear();
+        todo.sort((a, b) -> Double.compare(b.getValue().getHeight(), a.getValue().getHeight()));
+
+        // 1) lay out shelves; each placement is {pageIndex, x, y}
+        List<int[]> places = new ArrayList<>();
+        List<int[]> pageDims = new ArrayList<>();
+        int page = -1, cx = 0, cy = 0, shelfH = 0;
+        for (var e : todo) {
+            int w = (int) e.getValue().getWidth()  + 2 * PADDING;
+            int h = (int) e.getValue().getHeight() + 2 * PADDING;
+            if (page >= 0 && cx + w > pageSize) {       // next shelf
+                cx = 0;
+                cy += shelfH;
+                shelfH = 0;
+            }
+            if (page < 0 || cy + h > pageSize) {        // next page
+                page++;
+                pageDims.add(new int[]{0, 0});
+                cx = cy = shelfH = 0;
+            }
+            places.add(new int[]{page, cx, cy});
+            int[] dims = pageDims.get(page);
+            dims[0] = Math.max(dims[0], cx + w);
+            dims[1] = Math.max(dims[1], cy + h);
+            cx += w;
+            shelfH = Math.max(shelfH, h);
+        }
+
+        // 2) copy pixels into pages trimmed to their used area
+        List<WritableImage> newPages = new ArrayList<>();
+        for (int[] d : pageDims) newPages.add(new WritableImage(d[0], d[1]));
+        for (int i = 0; i < todo.size(); i++) {
+            var e = todo.get(i);
+            int[] p = places.get(i);
+            WritableImage target = newPages.get(p[0]);
+            blit(e.getValue(), target.getPixelWriter(), p[1], p[2]);
+            regions.put(e.getKey(), new AtlasRegion(target,
+                    p[1] + PADDING, p[2] + PADDING,
+                    (int) e.getValue().getWidth(), (int) e.getValue().getHeight()));
+        }
+        pages.addAll(newPages);
+    }
+
+    /**
+     * Copies an image into a page at (x,y), surrounded by its extruded edges.
+     */
+    private static void blit(Image img, PixelWriter out, int x, int y) {
+        PixelReader in = img.getPixelReader();
+        int w = (int) img.getWidth(), h = (int) img.getHeight();
+        int ix = x + PADDING, iy = y + PADDING;
+        out.setPixels(ix, iy, w, h, in, 0, 0);
+        out.setPixels(ix, y,          w, 1, in, 0, 0);      // top edge
+        out.setPixels(ix, iy + h,     w, 1, in, 0, h - 1);  // bottom edge
+        out.setPixels(x,          iy, 1, h, in, 0, 0);      // left edge
+        out.setPixels(ix + w,     iy, 1, h, in, w - 1, 0);  // right edge
+        out.setArgb(x,      y,      in.getArgb(0, 0));
+        out.setArgb(ix + w, y,      in.getArgb(w - 1, 0));
+        out.setArgb(x,      iy + h, in.getArgb(0, h - 1));
+        out.setArgb(ix + w, iy + h, in.getArgb(w - 1, h - 1));
+    }
+
+    /**
+     * Returns the region of a packed sprite.
+     *
+     * @param key the key the image was added under
+     * @return the region, or {@code null} if no such sprite was packed
+     */
+    public AtlasRegion getRegion(String key) {
+        return regions.get(key);
+    }
+
+    /** @return the packed page images, in creation order */
+    public List<Image> getPages() {
+        return Collections.unmodifiableList(pages);
+    }
+}
@@ -0,0 +1,96 @@
+package engine.render;
+
+import javafx.scene.image.Image;
+import world.TileType;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Tile textures, packed into one shared {@link TextureAtlas}.
+ * <p>
+ * Each {@link TileType} with a texture key is drawn from
+ * "/tiles/&lt;key&gt;.png". Decoding the PNGs is the expensive part, so the
+ * game uses one process-wide instance from {@link #getShared()} and decodes
+ * on the first lookup. During development, {@link #reload()} re-reads the
+ * PNGs in place.
+ * </p>
+ */
+public class TileTextures {
+    /** Lazily created instance shared by every renderer. */
+    private static TileTextures shared;
+
+    /** Atlas holding every tile texture on one page; null until first needed. */
+    private TextureAtlas atlas;
+    /** Atlas region of the texture for each TileType. */
+    private final Map<TileType, AtlasRegion> regions = new EnumMap<>(TileType.class);
+
+    /**
+     * Returns the process-wide textures, creating them on first use.
+     *
+     * @return the shared TileTextures
+     */
+    public static synchronized TileTextures getShared() {
+        if (shared == null) {
+            shared = new TileTextures();
+        }
+        return shared;
+    }
+
+    /**
+     * Returns the atlas region of the texture for a given TileType.
+     *
+     * @param type the TileType whose texture is requested
+     * @return the region, or {@code null} if no texture was loaded for this type
+     */
+    public AtlasRegion get(TileType type) {
+        return getAll().get(type);
+    }
+
+    /**
+     * Returns every loaded tile texture, decoding them first if this is the
+     * first lookup.
+     *
+     * @return a map from TileType to its atlas region
+     */
+    public synchronized Map<TileType, AtlasRegion> getAll() {
+        if (atlas == null) load();
+        return regions;
+    }
+
+    /**
+     * Development hook: discards and re-decodes every tile texture.
+     * <p>
+     * The map returned by {@link #getAll()} is updated in place, so existing
+     * renderers pick up the new regions; they must drop any images baked from
+     * the old ones themselves.
+     * </p>
+     */
+    public synchronized void reload() {
+        regions.clear();
+        load();
+    }
+
+    /**
+     * Loads the PNG for each {@link TileType} that has a texture key and packs
+     * them into the atlas. Missing textures are logged and skipped.
+     */
+    private void load() {
+        atlas = new TextureAtlas();
+        for (TileType type : TileType.values()) {
+            String key = type.getTextureKey();
+            if (key == null) continue;
+            var url = getClass().getResource("/tiles/" + key + ".png");
+            if (url == null) {
+                System.err.println("Texture not found: " + key);
+                continue;
+            }
+            atlas.add(key, new Image(url.toExternalForm()));
+        }
+        atlas.pack();
+        for (TileType type : TileType.values()) {
+            AtlasRegion region = type.getTextureKey() == null ? null : atlas.getRegion(type.getTextureKey());
+            if (region != null) regions.put(type, region);
+        }
+    }
+}
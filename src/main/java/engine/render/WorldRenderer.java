@@ -0,0 +1,167 @@
+package engine.render;
+
+import engine.Camera;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+import util.TileConstants;
+import world.Chunk;
+import world.LightMap;
+import world.TilePalette;
+import world.TileType;
+import world.World;
+
+import java.util.Map;
+
+/**
+ * Renders a 2D tile-based world to a JavaFX Canvas.
+ * <p>
+ * Only the chunks visible within the camera’s viewport are drawn. Each chunk is
+ * baked once into an image by a {@link ChunkRenderCache} and re-baked only when
+ * its tiles (or a neighbour's border tiles) change.
+ * Dirt/grass edges are drawn from the world's precomputed autotile layer
+ * ({@link World#getVariantId}), so no neighbours are inspected while drawing.
+ * Each tile, air included, is darkened by its {@linkplain World#getLight light level} when
+ * its chunk is baked, so lighting costs nothing per frame; a change of light
+ * re-bakes the chunks it reaches. Falls back to colored rectangles if a texture is unavailable.
+ * </p>
+ */
+public class WorldRenderer {
+    /** Atlas regions of the preloaded texture for each TileType. */
+    private final Map<TileType, AtlasRegion> textures;
+    /** Overlay drawn on a tile for each light level: black, fading out at full light. */
+    private static final Color[] SHADES = new Color[LightMap.MAX_LIGHT + 1];
+    static {
+        for (int l = 0; l <= LightMap.MAX_LIGHT; l++) {
+            SHADES[l] = Color.color(0, 0, 0, 1 - (double) l / LightMap.MAX_LIGHT);
+        }
+    }
+
+    /** Baked chunk images, painted with {@link #paintChunk}. */
+    private final ChunkRenderCache cache = new ChunkRenderCache(this::paintChunk);
+
+    /**
+     * @param textures a mapping from TileType to its texture's atlas region
+     */
+    public WorldRenderer(Map<TileType, AtlasRegion> textures) {
+        this.textures = textures;
+    }
+
+    /**
+     * Drops every baked chunk image so the next frame re-bakes from the
+     * current textures, e.g. after {@code TileTextures.reload()}.
+     */
+    public void clearCache() {
+        cache.clear();
+    }
+
+    /**
+     * Draws all tiles within the camera’s view onto the provided GraphicsContext.
+     * <p>
+     * - Computes the tile range from camera world coordinates and tile size.<br>
+     * - Walks the visible range chunk by chunk, skipping chunks that are
+     *   unallocated or entirely AIR unless some of their tiles are shaded.<br>
+     * - Draws each remaining chunk as a single pre-baked image.
+     * </p>
+     *
+     * @param gc       JavaFX GraphicsContext to draw on
+     * @param camera   the Camera defining the viewport
+     * @param world    the world whose tiles are drawn
+     */
+    public void render(GraphicsContext gc, Camera camera, World world) {
+        int ts = TileConstants.TILE_SIZE;
+        double worldX = camera.getWorldX(), worldY = camera.getWorldY();
+
+        // compute visible tile bounds (plus one extra to cover partial tiles),
+        // clamped to the map
+        int startX = Math.max(0, (int)(worldX / ts));
+        int startY = Math.max(0, (int)(worldY / ts));
+        int endX   = Math.min(world.getWidth(),  (int)((worldX + camera.getViewWidth())  / ts) + 1);
+        int endY   = Math.min(world.getHeight(), (int)((worldY + camera.getViewHeight()) / ts) + 1);
+        if (startX >= endX || startY >= endY) return;
+
+        for (int cy = startY >> World.CHUNK_SHIFT; cy <= (endY - 1) >> World.CHUNK_SHIFT; cy++) {
+            for (int cx = startX >> World.CHUNK_SHIFT; cx <= (endX - 1) >> World.CHUNK_SHIFT; cx++) {
+                Chunk chunk = world.getChunk(cx, cy);
+                // mined-out or generated all-air chunks underground still need their shade
+                if ((chunk == null || chunk.isEmpty()) && world.getLightMap().isFullyLit(cx, cy)) continue;
+
+                Image img = cache.get(world, cx, cy);
+                gc.drawImage(img,
+                        (cx << World.CHUNK_SHIFT) * ts - worldX,
+                        (cy << World.CHUNK_SHIFT) * ts - worldY);
+            }
+        }
+    }
+
+    /**
+     * Paints every tile of a chunk in chunk-local pixel coordinates, tinted
+     * by its light level; used by the {@link ChunkRenderCache} when baking.
+     *
+     * @param gc    context whose origin is the chunk's top-left corner
+     * @param world the world, used for palette and light lookups
+     * @param cx    chunk X coordinate
+     * @param cy    chunk Y coordinate; an unallocated chunk is painted as air
+     */
+    private void paintChunk(GraphicsContext gc, World world, int cx, int cy) {
+        int ts = TileConstants.TILE_SIZE;
+        TilePalette palette = world.getPalette();
+        Chunk chunk = world.getChunk(cx, cy);
+        int x0 = cx << World.CHUNK_SHIFT, y0 = cy << World.CHUNK_SHIFT;
+        int w = Math.min(World.CHUNK_SIZE, world.getWidth()  - x0);
+        int h = Math.min(World.CHUNK_SIZE, world.getHeight() - y0);
+        for (int ly = 0; ly < h; ly++) {
+            for (int lx = 0; lx < w; lx++) {
+                TileType t = chunk == null ? TileType.AIR : palette.typeOf(chunk.getVariant(lx, ly));
+                if (t != TileType.AIR) drawTile(gc, t, lx * ts, ly * ts);
+                // air is shaded too, so caves and shafts darken with the rock around them
+                int light = world.getLight(x0 + lx, y0 + ly);
+                if (light < LightMap.MAX_LIGHT) {
+                    gc.setFill(SHADES[light]);
+                    gc.fillRect(lx * ts, ly * ts, ts, ts);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns how dark the overlay baked over a tile is; air tiles get one
+     * too, so an unlit cave is painted black rather than left see-through.
+     *
+     * @param world the world to look up
+     * @param x     tile X coordinate
+     * @param y     tile Y coordinate
+     * @return opacity of the black overlay, 0 for a fully lit tile and 1 for an unlit one
+     */
+    public static double getShadeOpacity(World world, int x, int y) {
+        return SHADES[world.getLight(x, y)].getOpacity();
+    }
+
+    /**
+     * Draws a single, already autotiled tile.
+     *
+     * @param gc JavaFX GraphicsContext to draw on
+     * @param t  the tile variant to draw
+     * @param dx destination X in pixels
+     * @param dy destination Y in pixels
+     */
+    private void drawTile(GraphicsContext gc, TileType t, double dx, double dy) {
+        if (t == TileType.AIR) return;
+        int ts = TileConstants.TILE_SIZE;
+
+        AtlasRegion tex = textures.get(t);
+        if (tex != null) {
+            tex.draw(gc, dx, dy, ts, ts);
+        } else {
+            // fallback color fill for missing textures
+            switch (t) {
+                case GRASS_TOP, GRASS_LEFT, GRASS_RIGHT, GRASS_BOTTOM ->
+                        gc.setFill(Color.LIMEGREEN);
+                case DIRT      -> gc.setFill(Color.SIENNA);
+                case STONE     -> gc.setFill(Color.DARKGRAY);
+                default        -> gc.setFill(Color.TRANSPARENT);
+            }
+            gc.fillRect(dx, dy, ts, ts);
+        }
+    }
+}
@@ -83,7 +83,8 @@ public class SaveLoadManager {
     }
 
     /**
-     * Saves the full game state: inventory, current level, and player position.
+     * Saves the full game state: inventory, current level (or infinite-world
+     * seed), and player position.
      * <p>
      * Inventory is saved first, followed by writing level and coordinates
      * to a properties file.
@@ -94,6 +95,9 @@ public class SaveLoadManager {
         saveInventory();
         try (PrintWriter pw = new PrintWriter(SAVEGAME_FILE)) {
             pw.println("level=" + lvlMgr.getCurrentLevel());
+            if (lvlMgr.isInfinite()) {
+                pw.println("seed=" + lvlMgr.getInfiniteSeed());
+            }
             pw.println("playerX=" + player.getX());
             pw.println("playerY=" + player.getY());
         } catch (IOException e) {
@@ -127,7 +131,12 @@ public class SaveLoadManager {
             double x   = Double.parseDouble(props.getProperty("playerX"));
             double y   = Double.parseDouble(props.getProperty("playerY"));
 
-            lvlMgr.loadLevel(level);
+            String seed = props.getProperty("seed");
+            if (seed != null) {
+                lvlMgr.initInfinite(Long.parseLong(seed));
+            } else {
+                lvlMgr.loadLevel(level);
+            }
             player.setPosition(x, y);
             return true;
         } catch (Exception e) {
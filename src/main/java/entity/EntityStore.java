@@ -0,0 +1,353 @@
+package entity;
+
+import util.TileConstants;
+
+import java.util.Arrays;
+
+/**
+ * Dropped items stored as parallel primitive arrays rather than one object each.
+ * <p>
+ * Entity {@code i} is the i-th element of every array: its top-left position
+ * now and before the last physics step, velocity and box size in pixels, its sprite id, how many items its stack
+ * holds, how long it has existed, whether it ever despawns and whether it
+ * rests on the ground. The live entities always occupy indices {@code 0..size()-1}, so the
+ * {@link EntitySystems} walk each array front to back without following a
+ * single reference, which keeps tens of thousands of entities within a step.
+ * </p>
+ * <p>
+ * Slots are recycled: {@link #add} fills the first free slot at the end and
+ * {@link #remove(int)} moves the last entity into the removed one's slot, so
+ * both are O(1) and entity order is not kept. Nothing is allocated per entity;
+ * the arrays only grow, by doubling, when more entities are alive than ever
+ * before, and are kept by {@link #remove} and {@link #clear()}. A system that
+ * removes entities while iterating walks the indices downwards, so the entity
+ * moved into a freed slot is one it has already visited.
+ * </p>
+ * <p>
+ * Entities are also filed under a grid cell of {@link #CELL_SIZE} pixels by
+ * their top-left corner, in a hash table of cell chains held in int arrays.
+ * {@link #query} then only looks at the cells around a rectangle, so pickup,
+ * view culling and merging drops cost about the number of entities nearby,
+ * not the number alive; a rectangle covering more cells than there are
+ * entities is answered by a plain sweep instead. {@link #add} and
+ * {@link #remove} keep the chains in step, and {@link EntitySystems#physics}
+ * moves an entity to another chain only when it crosses a cell border. Boxes
+ * are assumed to be at most one cell wide and tall.
+ * </p>
+ */
+public class EntityStore {
+    private static final int INITIAL_CAPACITY = 64;
+    /** Edge length of a grid cell: four tiles, in pixels. */
+    public static final int CELL_SIZE = 4 * TileConstants.TILE_SIZE;
+
+    /** Top-left corner, in pixels. */
+    double[] x, y;
+    /** Top-left corner before the last physics step, for interpolated drawing. */
+    double[] prevX, prevY;
+    /** Velocity, in pixels per second. */
+    double[] vx, vy;
+    /** Box size, in pixels. */
+    double[] w, h;
+    /** What to draw; for items the {@link world.ItemType} ordinal. */
+    int[] sprite;
+    /** Number of items in the stack. */
+    int[] count;
+    /** Seconds since the entity was added. */
+    double[] age;
+    /** Never despawns, e.g. items placed by the level. */
+    boolean[] permanent;
+    /** Whether the last vertical move ended on a solid tile. */
+    boolean[] onGround;
+
+    /** Grid cell of each entity's top-left corner. */
+    private int[] cellX, cellY;
+    /** First entity in each hash bucket, or -1. */
+    private int[] head;
+    /** Next entity in the same bucket, or -1. */
+    private int[] next;
+    /** Entities found by the last {@link #query}. */
+    int[] hits;
+
+    private int size;
+
+    /** Creates an empty store. */
+    public EntityStore() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Creates an empty store with room for {@code capacity} entities before
+     * its arrays have to grow.
+     *
+     * @param capacity initial number of slots
+     */
+    public EntityStore(int capacity) {
+        allocate(Math.max(1, capacity));
+    }
+
+    /**
+     * Adds a single-item entity at rest, aged 0 and not permanent.
+     *
+     * @param sprite sprite id
+     * @param x      left edge in pixels
+     * @param y      top edge in pixels
+     * @param w      box width in pixels
+     * @param h      box height in pixels
+     * @return the new entity's index, valid until the next {@link #remove}
+     */
+    public int add(int sprite, double x, double y, double w, double h) {
+        return add(sprite, 1, x, y, w, h);
+    }
+
+    /**
+     * Adds a stack entity at rest, aged 0 and not permanent.
+     *
+     * @param sprite sprite id
+     * @param count  number of items in the stack
+     * @param x      left edge in pixels
+     * @param y      top edge in pixels
+     * @param w      box width in pixels
+     * @param h      box height in pixels
+     * @return the new entity's index, valid until the next {@link #remove}
+     */
+    public int add(int sprite, int count, double x, double y, double w, double h) {
+        if (size == this.x.length) allocate(size * 2);
+        int i = size++;
+        this.x[i] = x;
+        this.y[i] = y;
+        this.prevX[i] = x;
+        this.prevY[i] = y;
+        this.vx[i] = 0;
+        this.vy[i] = 0;
+        this.w[i] = w;
+        this.h[i] = h;
+        this.sprite[i] = sprite;
+        this.count[i] = count;
+        this.age[i] = 0;
+        this.permanent[i] = false;
+        this.onGround[i] = false;
+        cellX[i] = cell(x);
+        cellY[i] = cell(y);
+        link(i);
+        return i;
+    }
+
+    /**
+     * Removes an entity by moving the last one into its slot.
+     *
+     * @param i entity index; afterwards it refers to the entity that was last
+     */
+    public void remove(int i) {
+        int last = --size;
+        unlink(i);
+        if (i != last) {
+            unlink(last);
+            x[i] = x[last];
+            y[i] = y[last];
+            prevX[i] = prevX[last];
+            prevY[i] = prevY[last];
+            vx[i] = vx[last];
+            vy[i] = vy[last];
+            w[i] = w[last];
+            h[i] = h[last];
+            sprite[i] = sprite[last];
+            count[i] = count[last];
+            age[i] = age[last];
+            permanent[i] = permanent[last];
+            onGround[i] = onGround[last];
+            cellX[i] = cellX[last];
+            cellY[i] = cellY[last];
+            link(i);
+        }
+    }
+
+    /** Removes every entity, keeping the arrays for reuse. */
+    public void clear() {
+        size = 0;
+        Arrays.fill(head, -1);
+    }
+
+    /**
+     * Finds the entities whose box overlaps a rectangle, looking only at the
+     * grid cells it covers. The result is read with {@link #getHit(int)} and
+     * stays valid until the next query, {@link #add} or {@link #remove}.
+     *
+     * @param x0 left edge, in pixels
+     * @param y0 top edge, in pixels
+     * @param x1 right edge, in pixels
+     * @param y1 bottom edge, in pixels
+     * @return number of entities found, in no particular order
+     */
+    public int query(double x0, double y0, double x1, double y1) {
+        int found = 0;
+        // a box reaches at most one cell right of and below its corner's cell
+        int gx0 = cell(x0) - 1, gy0 = cell(y0) - 1, gx1 = cell(x1), gy1 = cell(y1);
+        int mask = head.length - 1;
+        if ((long) (gx1 - gx0 + 1) * (gy1 - gy0 + 1) >= size) {
+            // more cells to visit than entities alive: a plain sweep is cheaper
+            for (int i = 0; i < size; i++) {
+                if (overlaps(i, x0, y0, x1, y1)) hits[found++] = i;
+            }
+            return found;
+        }
+        for (int gy = gy0; gy <= gy1; gy++) {
+            for (int gx = gx0; gx <= gx1; gx++) {
+                // a bucket may also hold other cells' entities; the cell test drops them
+                for (int j = head[hash(gx, gy) & mask]; j >= 0; j = next[j]) {
+                    if (cellX[j] == gx && cellY[j] == gy && overlaps(j, x0, y0, x1, y1)) hits[found++] = j;
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * @param k position in the last {@link #query} result, below its count
+     * @return index of the k-th entity found
+     */
+    public int getHit(int k) { return hits[k]; }
+
+    /** @return number of entities */
+    public int size() { return size; }
+
+    /** @return left edge of entity {@code i}, in pixels */
+    public double getX(int i) { return x[i]; }
+
+    /** @return top edge of entity {@code i}, in pixels */
+    public double getY(int i) { return y[i]; }
+
+    /**
+     * Returns the left edge interpolated between the previous and current physics step.
+     *
+     * @param i     entity index
+     * @param alpha 0 for the previous position, 1 for the current one
+     * @return interpolated left edge, in pixels
+     */
+    public double getRenderX(int i, double alpha) { return prevX[i] + (x[i] - prevX[i]) * alpha; }
+
+    /**
+     * Returns the top edge interpolated between the previous and current physics step.
+     *
+     * @param i     entity index
+     * @param alpha 0 for the previous position, 1 for the current one
+     * @return interpolated top edge, in pixels
+     */
+    public double getRenderY(int i, double alpha) { return prevY[i] + (y[i] - prevY[i]) * alpha; }
+
+    /** @return box width of entity {@code i}, in pixels */
+    public double getWidth(int i) { return w[i]; }
+
+    /** @return box height of entity {@code i}, in pixels */
+    public double getHeight(int i) { return h[i]; }
+
+    /** @return sprite id of entity {@code i} */
+    public int getSprite(int i) { return sprite[i]; }
+
+    /** @return number of items in the stack of entity {@code i} */
+    public int getCount(int i) { return count[i]; }
+
+    /** @return seconds since entity {@code i} was added */
+    public double getAge(int i) { return age[i]; }
+
+    /** @return true if entity {@code i} never despawns */
+    public boolean isPermanent(int i) { return permanent[i]; }
+
+    /**
+     * Exempts entity {@code i} from despawning, or makes it subject to it again.
+     *
+     * @param i         entity index
+     * @param permanent true to keep the entity until it is picked up
+     */
+    public void setPermanent(int i, boolean permanent) {
+        this.permanent[i] = permanent;
+    }
+
+    /** @return true if entity {@code i} rests on a solid tile */
+    public boolean isOnGround(int i) { return onGround[i]; }
+
+    /** @return number of slots before the arrays have to grow */
+    public int getCapacity() { return x.length; }
+
+    /**
+     * Sets the velocity of entity {@code i}, e.g. to toss a drop.
+     *
+     * @param i  entity index
+     * @param vx horizontal velocity in pixels per second
+     * @param vy vertical velocity in pixels per second (positive is down)
+     */
+    public void setVelocity(int i, double vx, double vy) {
+        this.vx[i] = vx;
+        this.vy[i] = vy;
+    }
+
+    /** Moves entity {@code i} to another cell chain if its corner left its cell. */
+    void relocate(int i) {
+        int gx = cell(x[i]), gy = cell(y[i]);
+        if (gx == cellX[i] && gy == cellY[i]) return;
+        unlink(i);
+        cellX[i] = gx;
+        cellY[i] = gy;
+        link(i);
+    }
+
+    private boolean overlaps(int i, double x0, double y0, double x1, double y1) {
+        return x[i] < x1 && x[i] + w[i] > x0 && y[i] < y1 && y[i] + h[i] > y0;
+    }
+
+    private void link(int i) {
+        int b = hash(cellX[i], cellY[i]) & (head.length - 1);
+        next[i] = head[b];
+        head[b] = i;
+    }
+
+    private void unlink(int i) {
+        int b = hash(cellX[i], cellY[i]) & (head.length - 1);
+        if (head[b] == i) {
+            head[b] = next[i];
+            return;
+        }
+        for (int j = head[b]; j >= 0; j = next[j]) {
+            if (next[j] == i) {
+                next[j] = next[i];
+                return;
+            }
+        }
+    }
+
+    private static int cell(double v) {
+        return (int) Math.floor(v / CELL_SIZE);
+    }
+
+    private static int hash(int gx, int gy) {
+        int h = gx * 0x9E3779B1 + gy * 0x85EBCA77;
+        return h ^ (h >>> 16);
+    }
+
+    private void allocate(int capacity) {
+        x = grow(x, capacity);
+        y = grow(y, capacity);
+        prevX = grow(prevX, capacity);
+        prevY = grow(prevY, capacity);
+        vx = grow(vx, capacity);
+        vy = grow(vy, capacity);
+        w = grow(w, capacity);
+        h = grow(h, capacity);
+        sprite = sprite == null ? new int[capacity] : Arrays.copyOf(sprite, capacity);
+        count = count == null ? new int[capacity] : Arrays.copyOf(count, capacity);
+        age = grow(age, capacity);
+        permanent = permanent == null ? new boolean[capacity] : Arrays.copyOf(permanent, capacity);
+        onGround = onGround == null ? new boolean[capacity] : Arrays.copyOf(onGround, capacity);
+        cellX = cellX == null ? new int[capacity] : Arrays.copyOf(cellX, capacity);
+        cellY = cellY == null ? new int[capacity] : Arrays.copyOf(cellY, capacity);
+        next = new int[capacity];
+        hits = new int[capacity];
+        // twice as many buckets as slots keeps chains short; refile everything
+        head = new int[Integer.highestOneBit(Math.max(16, capacity * 2 - 1)) << 1];
+        Arrays.fill(head, -1);
+        for (int i = 0; i < size; i++) link(i);
+    }
+
+    private static double[] grow(double[] a, int capacity) {
+        return a == null ? new double[capacity] : Arrays.copyOf(a, capacity);
+    }
+}
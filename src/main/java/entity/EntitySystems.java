@@ -0,0 +1,166 @@
+package entity;
+
+import util.Inventory;
+import world.ItemType;
+import world.World;
+
+import java.util.Arrays;
+
+/**
+ * The per-step systems run over an {@link EntityStore}.
+ * <p>
+ * Physics, pickup and stack spawning only visit the entities the store's
+ * grid finds near the view, the player or the drop; despawning ages every
+ * entity in one linear pass. Systems that remove entities handle them from
+ * the highest index down, so the swap-remove of
+ * {@link EntityStore#remove(int)} never moves one still to be handled.
+ * </p>
+ */
+public final class EntitySystems {
+    private static final double GRAVITY  = 900;
+    private static final double MAX_FALL = 600;
+    /** Fraction of horizontal speed lost per second while on the ground. */
+    private static final double FRICTION = 8;
+    /** Most items one stack entity holds. */
+    public static final int MAX_STACK = 999;
+
+    private static final ItemType[] ITEM_TYPES = ItemType.values();
+
+    private EntitySystems() {}
+
+    /**
+     * Applies gravity and ground friction and moves every entity inside the
+     * active rectangle with swept collision against the world's tiles.
+     * Entities outside it are left asleep, so nothing falls through chunks
+     * that are not generated. Each moved entity's position is first saved as
+     * its previous one, for interpolated drawing; asleep entities keep theirs
+     * until they are in range again, which happens before they come into view.
+     *
+     * @param store entities to move
+     * @param world the world to collide with
+     * @param dt    length of the step in seconds
+     * @param x0    left edge of the active rectangle, in pixels
+     * @param y0    top edge of the active rectangle, in pixels
+     * @param x1    right edge of the active rectangle, in pixels
+     * @param y1    bottom edge of the active rectangle, in pixels
+     */
+    public static void physics(EntityStore store, World world, double dt,
+                               double x0, double y0, double x1, double y1) {
+        double[] x = store.x, y = store.y, vx = store.vx, vy = store.vy, w = store.w, h = store.h;
+        boolean[] onGround = store.onGround;
+        double slow = Math.max(0, 1 - FRICTION * dt);
+        double[] prevX = store.prevX, prevY = store.prevY;
+        for (int k = 0, found = store.query(x0, y0, x1, y1); k < found; k++) {
+            int i = store.hits[k];
+            prevX[i] = x[i];
+            prevY[i] = y[i];
+
+            vy[i] = Math.min(MAX_FALL, vy[i] + GRAVITY * dt);
+            if (onGround[i]) vx[i] *= slow;
+
+            if (vx[i] != 0) {
+                double dx = vx[i] * dt;
+                double mx = TileCollider.sweepX(world, x[i], y[i], w[i], h[i], dx);
+                x[i] += mx;
+                if (mx != dx) vx[i] = 0;
+            }
+
+            double dy = vy[i] * dt;
+            double my = TileCollider.sweepY(world, x[i], y[i], w[i], h[i], dy);
+            y[i] += my;
+            if (my != dy) {
+                onGround[i] = vy[i] > 0;
+                vy[i] = 0;
+            } else {
+                onGround[i] = false;
+            }
+            store.relocate(i);
+        }
+    }
+
+    /**
+     * Adds every item entity overlapping the player to the inventory, with
+     * its whole stack, and removes it from the store.
+     *
+     * @param store     item entities, sprite ids being {@link ItemType} ordinals
+     * @param player    the player collecting them
+     * @param inventory the inventory to add to
+     * @return number of items picked up, counting every item of a stack
+     */
+    public static int pickup(EntityStore store, Player player, Inventory inventory) {
+        double px0 = player.getX(), py0 = player.getY();
+        double px1 = px0 + Player.PLAYER_WIDTH, py1 = py0 + Player.PLAYER_HEIGHT;
+        int found = store.query(px0, py0, px1, py1);
+        int[] hits = store.hits;
+        Arrays.sort(hits, 0, found);
+        int picked = 0;
+        for (int k = found - 1; k >= 0; k--) {
+            int i = hits[k];
+            inventory.addItem(ITEM_TYPES[store.sprite[i]].getId(), store.count[i]);
+            picked += store.count[i];
+            store.remove(i);
+        }
+        return picked;
+    }
+
+    /**
+     * Ages every entity by {@code dt} and removes those older than
+     * {@code maxAge}, except permanent ones.
+     *
+     * @param store  entities to age
+     * @param dt     length of the step in seconds
+     * @param maxAge lifetime in seconds; 0 or less keeps entities forever
+     * @return number of entities removed
+     */
+    public static int despawn(EntityStore store, double dt, double maxAge) {
+        double[] age = store.age;
+        boolean[] permanent = store.permanent;
+        int removed = 0;
+        for (int i = store.size() - 1; i >= 0; i--) {
+            age[i] += dt;
+            if (maxAge > 0 && age[i] > maxAge && !permanent[i]) {
+                store.remove(i);
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Drops a stack of items centred on (cx, cy). Items first top up existing
+     * stacks of the same sprite whose centre lies within {@code mergeRadius},
+     * which then count as fresh again;
+     * only what does not fit there becomes new entities, so repeatedly mining
+     * in one place does not pile up entities.
+     *
+     * @param store       entities to add to
+     * @param sprite      sprite id of the items
+     * @param count       number of items
+     * @param cx          centre X in pixels
+     * @param cy          centre Y in pixels
+     * @param size        box edge length of a new entity, in pixels
+     * @param mergeRadius how far away, in pixels, a stack may be to take the items
+     */
+    public static void spawnStack(EntityStore store, int sprite, int count,
+                                  double cx, double cy, double size, double mergeRadius) {
+        double[] x = store.x, y = store.y, w = store.w, h = store.h;
+        int[] sprites = store.sprite, counts = store.count;
+        double r2 = mergeRadius * mergeRadius;
+        int found = store.query(cx - mergeRadius, cy - mergeRadius, cx + mergeRadius, cy + mergeRadius);
+        for (int k = 0; k < found && count > 0; k++) {
+            int i = store.hits[k];
+            if (sprites[i] != sprite || counts[i] >= MAX_STACK || store.permanent[i]) continue;
+            double dx = x[i] + w[i] / 2 - cx, dy = y[i] + h[i] / 2 - cy;
+            if (dx * dx + dy * dy > r2) continue;
+            int moved = Math.min(count, MAX_STACK - counts[i]);
+            counts[i] += moved;
+            count -= moved;
+            store.age[i] = 0;
+        }
+        while (count > 0) {
+            int n = Math.min(count, MAX_STACK);
+            store.add(sprite, n, cx - size / 2, cy - size / 2, size, size);
+            count -= n;
+        }
+    }
+}
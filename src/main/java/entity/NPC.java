@@ -1,27 +1,21 @@
 package entity;
 
-import engine.Camera;
-import javafx.scene.canvas.GraphicsContext;
-import javafx.scene.image.Image;
 import util.TileConstants;
 import world.World;
 
 /**
  * Represents a non-player character (NPC) in the game world.
  * <p>
- * NPCs display a simple idle animation and can engage in dialogue
- * when the player interacts within range.
+ * NPCs play a simple idle animation and can engage in dialogue
+ * when the player interacts within range. Their sprites are drawn by the
+ * render layer ({@code engine.render.EntityRenderer}).
  * </p>
  */
 public class NPC {
-    private static final int FRAME_COUNT = 5;
+    /** Number of frames in the idle animation. */
+    public static final int FRAME_COUNT = 5;
     private static final double FRAME_DURATION = 0.3; // seconds per frame
-    private static final double NPC_SCALE = 3.0;
 
-    private final double npcWidth  = TileConstants.TILE_SIZE * NPC_SCALE;
-    private final double npcHeight = TileConstants.TILE_SIZE * NPC_SCALE;
-
-    private final Image[] frames = new Image[FRAME_COUNT];
     private int frameIndex = 0;
     private double frameTimer = 0;
 
@@ -32,27 +26,16 @@ public class NPC {
     private boolean inDialog = false;
 
     /**
-     * Loads NPC frames and initializes position and dialogue.
+     * Initializes position and dialogue.
      *
      * @param x      the world x-coordinate of the NPC's origin
      * @param y      the world y-coordinate of the NPC's origin
      * @param dialog array of dialogue lines to display on interaction
-     * @throws RuntimeException if an animation frame resource is missing
      */
     public NPC(double x, double y, String[] dialog) {
         this.x = x;
         this.y = y;
         this.dialog = dialog;
-
-        // Load animation frames named BroMonkeyStand1..5.png
-        for (int i = 0; i < FRAME_COUNT; i++) {
-            String path = String.format("/animation/BroMonkeyStand%d.png", i + 1);
-            var is = getClass().getResourceAsStream(path);
-            if (is == null) {
-                throw new RuntimeException("NPC frame not found: " + path);
-            }
-            frames[i] = new Image(is);
-        }
     }
 
     /**
@@ -123,20 +106,17 @@ public class NPC {
     }
 
     /**
-     * Renders the NPC to the screen with current animation frame.
-     * <p>
-     * Applies a vertical offset so NPC sprite appears grounded.
-     * </p>
-     *
-     * @param gc  the graphics context for drawing
-     * @param cam the camera providing world-to-screen translation
+     * @return the world x-coordinate of the NPC's origin
      */
-    public void render(GraphicsContext gc, Camera cam) {
-        double sx = x - cam.getWorldX();
-        double sy = y - cam.getWorldY();
-        double dyOffset = TileConstants.TILE_SIZE - npcHeight;
-        gc.drawImage(frames[frameIndex],
-                sx, sy + dyOffset,
-                npcWidth, npcHeight);
-    }
+    public double getX() { return x; }
+
+    /**
+     * @return the world y-coordinate of the NPC's origin
+     */
+    public double getY() { return y; }
+
+    /**
+     * @return index of the current idle animation frame
+     */
+    public int getFrameIndex() { return frameIndex; }
 }
@@ -1,18 +1,16 @@
 package entity;
 
 import world.World;
-import engine.Camera;
-import util.TileConstants;
-import javafx.scene.canvas.GraphicsContext;
-import javafx.scene.image.Image;
 import world.ItemType;
 
 /**
  * Represents the player character in the game world.
  * <p>
- * Handles movement physics (gravity, jumping, horizontal movement), collision detection,
- * animation frame selection (idle, running, jumping), equipment state (e.g., baton equipped),
- * and rendering of the player sprite.
+ * Handles movement physics (gravity, jumping, horizontal movement), swept collision
+ * against the tiles ({@link TileCollider}),
+ * animation state (idle, running, jumping, current frame) and equipment state
+ * (e.g., baton equipped). Drawing is left to the render layer
+ * ({@code engine.render.EntityRenderer}), so the player can be simulated without JavaFX.
  * </p>
  */
 public class Player {
@@ -27,15 +25,15 @@ public class Player {
     private static final double GRAVITY     = 900;
     private static final double MAX_FALL    = 600;
 
-    // Animation frames for standard and baton-equipped states
-    private final Image[] idleLeftFrames   = new Image[4];
-    private final Image[] idleRightFrames  = new Image[4];
-    private final Image[] runLeftFrames    = new Image[4];
-    private final Image[] runRightFrames   = new Image[4];
-    private final Image[] jumpLeftFrames   = new Image[3];
-    private final Image[] jumpRightFrames  = new Image[3];
-    private final Image[] idleLeftBaton    = new Image[4];
-    private final Image[] idleRightBaton   = new Image[4];
+    /** Frames in the idle animation, with or without the baton. */
+    public static final int IDLE_FRAMES = 4;
+    /** Frames in the run animation. */
+    public static final int RUN_FRAMES  = 4;
+    /** Frames in the jump animation; the last one is held until landing. */
+    public static final int JUMP_FRAMES = 3;
+
+    /** Animation the player is currently showing. */
+    public enum Animation { IDLE, RUN, JUMP }
 
     private boolean hasBaton = false;
 
@@ -48,56 +46,18 @@ public class Player {
     private boolean onGround    = true;
 
     private double x, y, vx, vy;
+    /** Position before the latest update, for render interpolation. */
+    private double prevX, prevY;
     private boolean movingLeft, movingRight;
 
     /**
-     * Constructs a new Player at the specified initial position and loads animations.
+     * Constructs a new Player at the specified initial position.
      *
      * @param x initial world x-coordinate of the player
      * @param y initial world y-coordinate of the player
      */
     public Player(double x, double y) {
-        this.x = x;
-        this.y = y;
-        loadAnimations();
-    }
-
-    /**
-     * Loads all animation frames for the player from resource files.
-     * <p>
-     * Throws RuntimeException if any resource is missing.
-     * </p>
-     */
-    private void loadAnimations() {
-        for (int i = 0; i < 4; i++) {
-            String n = String.valueOf(i + 1);
-            idleLeftFrames[i]   = load("/animation/JonkleAnimatedLeftStand"  + n + ".png");
-            idleRightFrames[i]  = load("/animation/JonkleAnimatedStandRight"  + n + ".png");
-            runLeftFrames[i]    = load("/animation/JonkleRunLeft"            + n + ".png");
-            runRightFrames[i]   = load("/animation/JonkleRunRight"           + n + ".png");
-            idleLeftBaton[i]    = load("/animation/JonkleStandLeftWithBaton"  + n + ".png");
-            idleRightBaton[i]   = load("/animation/JonkleStandRightWithBaton" + n + ".png");
-        }
-        for (int i = 0; i < 3; i++) {
-            String n = String.valueOf(i + 1);
-            jumpLeftFrames[i]   = load("/animation/JonkleJumpLeft"          + n + ".png");
-            jumpRightFrames[i]  = load("/animation/JonkleJumpRight"         + n + ".png");
-        }
-    }
-
-    /**
-     * Loads an image from the given resource path.
-     *
-     * @param path resource path to the image file
-     * @return the loaded Image
-     * @throws RuntimeException if the resource cannot be found
-     */
-    private Image load(String path) {
-        var is = getClass().getResourceAsStream(path);
-        if (is == null) {
-            throw new RuntimeException("Animation file not found: " + path);
-        }
-        return new Image(is);
+        setPosition(x, y);
     }
 
     /**
@@ -146,13 +106,15 @@ public class Player {
     /**
      * Updates player physics, handles input state, collision, and animation.
      * <p>
-     * Should be called once per frame with the elapsed time.
+     * Should be called once per fixed simulation step.
      * </p>
      *
-     * @param dt    time elapsed since last frame in seconds
+     * @param dt    length of the step in seconds
      * @param world the game world for collision checks
      */
     public void update(double dt, World world) {
+        prevX = x;
+        prevY = y;
         boolean prevOnGround = this.onGround;
         // Horizontal movement
         if      (movingLeft)  vx = -SPEED;
@@ -168,18 +130,21 @@ public class Player {
         vy += GRAVITY * dt;
         vy = Math.max(-MAX_FALL, Math.min(MAX_FALL, vy));
 
-        // Horizontal collision
-        double nx = x + vx * dt;
-        if (!collides(nx, y, world)) x = nx; else vx = 0;
+        // Horizontal move, stopping flush against the first solid tile
+        double dx = vx * dt;
+        double mx = TileCollider.sweepX(world, x, y, PLAYER_WIDTH, PLAYER_HEIGHT, dx);
+        x += mx;
+        if (mx != dx) vx = 0;
 
-        // Vertical collision
-        double ny = y + vy * dt;
-        if (!collides(x, ny, world)) {
-            y = ny;
-            onGround = false;
-        } else {
+        // Vertical move: landing on or bumping into a tile zeroes the velocity
+        double dy = vy * dt;
+        double my = TileCollider.sweepY(world, x, y, PLAYER_WIDTH, PLAYER_HEIGHT, dy);
+        y += my;
+        if (my != dy) {
             if (vy > 0) onGround = true;
             vy = 0;
+        } else {
+            onGround = false;
         }
 
         boolean justLanded      =  onGround && !prevOnGround;
@@ -187,7 +152,7 @@ public class Player {
             frameIndex = 0;
             frameTimer = 0;
         } else if (justLanded) {
-            frameIndex = jumpLeftFrames.length - 1;
+            frameIndex = JUMP_FRAMES - 1;
             frameTimer = 0;
         }
 
@@ -196,20 +161,19 @@ public class Player {
             frameTimer += dt;
             if (frameTimer >= JUMP_FRAME_DURATION) {
                 frameTimer -= JUMP_FRAME_DURATION;
-                frameIndex = Math.min(frameIndex + 1, jumpLeftFrames.length - 1);
+                frameIndex = Math.min(frameIndex + 1, JUMP_FRAMES - 1);
             }
         } else if (movingLeft || movingRight) {
             frameTimer += dt;
             if (frameTimer >= FRAME_DURATION) {
                 frameTimer -= FRAME_DURATION;
-                frameIndex = (frameIndex + 1) % runLeftFrames.length;
+                frameIndex = (frameIndex + 1) % RUN_FRAMES;
             }
         } else {
             frameTimer += dt;
-            int len = hasBaton ? idleLeftBaton.length : idleLeftFrames.length;
             if (frameTimer >= FRAME_DURATION) {
                 frameTimer -= FRAME_DURATION;
-                frameIndex = (frameIndex + 1) % len;
+                frameIndex = (frameIndex + 1) % IDLE_FRAMES;
             }
         }
     }
@@ -226,49 +190,30 @@ public class Player {
     }
 
     /**
-     * Checks collision of the player's bounding box with solid tiles.
+     * Returns the animation matching the current movement state.
      *
-     * @param px    proposed x-coordinate
-     * @param py    proposed y-coordinate
-     * @param world the game world to query for solidity
-     * @return true if collision would occur, false otherwise
+     * @return JUMP while airborne, RUN while walking, IDLE otherwise
      */
-    private boolean collides(double px, double py, World world) {
-        int ts = TileConstants.TILE_SIZE;
-        int left   = (int)(px                   / ts);
-        int right  = (int)((px + PLAYER_WIDTH-1) / ts);
-        int top    = (int)(py                   / ts);
-        int bottom = (int)((py + PLAYER_HEIGHT-1)/ ts);
-        return world.isSolid(left, top)
-                || world.isSolid(right, top)
-                || world.isSolid(left, bottom)
-                || world.isSolid(right, bottom);
+    public Animation getAnimation() {
+        if (!onGround) return Animation.JUMP;
+        if (movingLeft || movingRight) return Animation.RUN;
+        return Animation.IDLE;
     }
 
     /**
-     * Renders the player sprite at the current position with the correct frame.
-     *
-     * @param gc  the graphics context for drawing
-     * @param cam the camera for world-to-screen translation
+     * @return index of the current frame within {@link #getAnimation()}
      */
-    public void render(GraphicsContext gc, Camera cam) {
-        double sx = x - cam.getWorldX();
-        double sy = y - cam.getWorldY();
+    public int getFrameIndex() { return frameIndex; }
 
-        Image[] frames;
-        if (!onGround) {
-            frames = facingRight ? jumpRightFrames : jumpLeftFrames;
-        } else if (movingLeft || movingRight) {
-            frames = facingRight ? runRightFrames : runLeftFrames;
-        } else if (hasBaton) {
-            frames = facingRight ? idleRightBaton : idleLeftBaton;
-        } else {
-            frames = facingRight ? idleRightFrames : idleLeftFrames;
-        }
+    /**
+     * @return true if the player faces right
+     */
+    public boolean isFacingRight() { return facingRight; }
 
-        int idx = Math.max(0, Math.min(frameIndex, frames.length - 1));
-        gc.drawImage(frames[idx], sx, sy, PLAYER_WIDTH, PLAYER_HEIGHT);
-    }
+    /**
+     * @return true if the baton is equipped
+     */
+    public boolean isBatonEquipped() { return hasBaton; }
 
     /**
      * Sets the player's position in world coordinates.
@@ -277,8 +222,8 @@ public class Player {
      * @param y new world y-coordinate
      */
     public void setPosition(double x, double y) {
-        this.x = x;
-        this.y = y;
+        this.x = prevX = x;
+        this.y = prevY = y;
     }
 
     /**
@@ -294,4 +239,20 @@ public class Player {
      * @return y-coordinate of the player
      */
     public double getY() { return y; }
+
+    /**
+     * Returns the x-coordinate interpolated between the previous and current update.
+     *
+     * @param alpha 0 for the previous position, 1 for the current one
+     * @return interpolated x-coordinate
+     */
+    public double getRenderX(double alpha) { return prevX + (x - prevX) * alpha; }
+
+    /**
+     * Returns the y-coordinate interpolated between the previous and current update.
+     *
+     * @param alpha 0 for the previous position, 1 for the current one
+     * @return interpolated y-coordinate
+     */
+    public double getRenderY(double alpha) { return prevY + (y - prevY) * alpha; }
 }
@@ -0,0 +1,117 @@
+package entity;
+
+import java.util.Arrays;
+
+/**
+ * Merges neighbouring stacks of the same item in an {@link EntityStore}.
+ * <p>
+ * Each {@link #merge} files every entity under a grid cell one merge radius
+ * wide, in a hash table of cell chains held in int arrays, then compares each
+ * entity only with those in its own and the eight surrounding cells. A pass
+ * therefore costs about O(n) however many entities there are, and the arrays
+ * are kept for the next pass, so steady-state merging allocates nothing.
+ * </p>
+ * <p>
+ * Of two stacks that merge, the one with the lower index takes the items and
+ * keeps its position; it also takes the lower age, so merging never makes a
+ * fresh drop despawn early. Permanent items, placed by the level, are left
+ * where they are.
+ * </p>
+ */
+public class StackMerger {
+    private final double radius;
+    /** First entity in each hash bucket, or -1. */
+    private int[] head = new int[0];
+    /** Next entity in the same bucket, or -1. */
+    private int[] next = new int[0];
+    /** Cell coordinates of each entity's centre. */
+    private int[] cellX = new int[0], cellY = new int[0];
+
+    /**
+     * @param radius stacks whose centres are at most this far apart merge, in pixels
+     */
+    public StackMerger(double radius) {
+        this.radius = radius;
+    }
+
+    /**
+     * Runs one merge pass and removes the stacks emptied by it.
+     *
+     * @param store the entities to merge
+     * @return number of entities removed
+     */
+    public int merge(EntityStore store) {
+        int n = store.size();
+        if (n < 2) return 0;
+        index(store, n);
+
+        double[] x = store.x, y = store.y, w = store.w, h = store.h, age = store.age;
+        int[] sprite = store.sprite, count = store.count;
+        boolean[] permanent = store.permanent;
+        double r2 = radius * radius;
+        int mask = head.length - 1;
+        int emptied = 0;
+
+        for (int i = 0; i < n; i++) {
+            if (count[i] == 0 || count[i] >= EntitySystems.MAX_STACK || permanent[i]) continue;
+            double cx = x[i] + w[i] / 2, cy = y[i] + h[i] / 2;
+            neighbours:
+            for (int gy = cellY[i] - 1; gy <= cellY[i] + 1; gy++) {
+                for (int gx = cellX[i] - 1; gx <= cellX[i] + 1; gx++) {
+                    // a bucket may also hold other cells' entities; the distance test drops them
+                    for (int j = head[hash(gx, gy) & mask]; j >= 0; j = next[j]) {
+                        if (j <= i || count[j] == 0 || sprite[j] != sprite[i]
+                                || permanent[j]
+                                || cellX[j] != gx || cellY[j] != gy) continue;
+                        double dx = x[j] + w[j] / 2 - cx, dy = y[j] + h[j] / 2 - cy;
+                        if (dx * dx + dy * dy > r2) continue;
+                        int moved = Math.min(count[j], EntitySystems.MAX_STACK - count[i]);
+                        if (moved > 0) {
+                            count[i] += moved;
+                            count[j] -= moved;
+                            age[i] = Math.min(age[i], age[j]);
+                            if (count[j] == 0) emptied++;
+                        }
+                        // a full stack takes nothing more, so stop looking
+                        if (count[i] >= EntitySystems.MAX_STACK) break neighbours;
+                    }
+                }
+            }
+        }
+
+        if (emptied > 0) {
+            for (int i = n - 1; i >= 0; i--) {
+                if (count[i] == 0) store.remove(i);
+            }
+        }
+        return emptied;
+    }
+
+    /** Files entities 0..n-1 under their cells. */
+    private void index(EntityStore store, int n) {
+        int buckets = Integer.highestOneBit(Math.max(16, n * 2 - 1)) << 1;
+        if (head.length < buckets) head = new int[buckets];
+        if (next.length < n) {
+            int capacity = store.getCapacity();
+            next = new int[capacity];
+            cellX = new int[capacity];
+            cellY = new int[capacity];
+        }
+        Arrays.fill(head, -1);
+        int mask = head.length - 1;
+        for (int i = 0; i < n; i++) {
+            int gx = (int) Math.floor((store.x[i] + store.w[i] / 2) / radius);
+            int gy = (int) Math.floor((store.y[i] + store.h[i] / 2) / radius);
+            cellX[i] = gx;
+            cellY[i] = gy;
+            int b = hash(gx, gy) & mask;
+            next[i] = head[b];
+            head[b] = i;
+        }
+    }
+
+    private static int hash(int gx, int gy) {
+        int h = gx * 0x9E3779B1 + gy * 0x85EBCA77;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,108 @@
+package entity;
+
+import util.TileConstants;
+import world.World;
+
+/**
+ * Swept axis-aligned box collision against the solid tiles of a {@link World}.
+ * <p>
+ * A move is resolved one axis at a time: {@link #sweepX} and {@link #sweepY}
+ * walk the tile columns (or rows) that the leading edge of the box crosses,
+ * checking every tile the box overlaps on the other axis, and stop at the
+ * first solid one with the box exactly touching it. Nothing between the
+ * corners is skipped however wide the box is, and nothing is tunnelled
+ * through however far it moves, so no substepping is needed. A sweep looks
+ * at {@code (|distance| / TILE_SIZE + 1) * (size / TILE_SIZE + 2)} tiles at
+ * most.
+ * </p>
+ * <p>
+ * Tiles the box already overlaps are ignored, so a box that somehow ends up
+ * inside terrain can still move out of it.
+ * </p>
+ */
+public final class TileCollider {
+    /** Tolerance for boxes whose edge lies exactly on a tile boundary. */
+    private static final double EPSILON = 1e-9;
+
+    private TileCollider() {}
+
+    /**
+     * Moves a box horizontally until it would enter a solid tile.
+     *
+     * @param world the world to collide with
+     * @param x     left edge of the box, in pixels
+     * @param y     top edge of the box, in pixels
+     * @param w     box width in pixels
+     * @param h     box height in pixels
+     * @param dx    desired horizontal move, in pixels
+     * @return the move actually possible: {@code dx} if nothing is hit,
+     *         otherwise the distance to contact, with the same sign as dx or 0
+     */
+    public static double sweepX(World world, double x, double y, double w, double h, double dx) {
+        if (dx == 0) return 0;
+        int ts = TileConstants.TILE_SIZE;
+        int row0 = floorDiv(y + EPSILON, ts), row1 = floorDiv(y + h - EPSILON, ts);
+        if (dx > 0) {
+            double edge = x + w;
+            int last = floorDiv(edge + dx - EPSILON, ts);
+            for (int col = floorDiv(edge - EPSILON, ts) + 1; col <= last; col++) {
+                if (anySolidInColumn(world, col, row0, row1)) return Math.max(0, col * ts - edge);
+            }
+        } else {
+            int last = floorDiv(x + dx + EPSILON, ts);
+            for (int col = floorDiv(x + EPSILON, ts) - 1; col >= last; col--) {
+                if (anySolidInColumn(world, col, row0, row1)) return Math.min(0, (col + 1) * ts - x);
+            }
+        }
+        return dx;
+    }
+
+    /**
+     * Moves a box vertically until it would enter a solid tile.
+     *
+     * @param world the world to collide with
+     * @param x     left edge of the box, in pixels
+     * @param y     top edge of the box, in pixels
+     * @param w     box width in pixels
+     * @param h     box height in pixels
+     * @param dy    desired vertical move, in pixels (positive is down)
+     * @return the move actually possible: {@code dy} if nothing is hit,
+     *         otherwise the distance to contact, with the same sign as dy or 0
+     */
+    public static double sweepY(World world, double x, double y, double w, double h, double dy) {
+        if (dy == 0) return 0;
+        int ts = TileConstants.TILE_SIZE;
+        int col0 = floorDiv(x + EPSILON, ts), col1 = floorDiv(x + w - EPSILON, ts);
+        if (dy > 0) {
+            double edge = y + h;
+            int last = floorDiv(edge + dy - EPSILON, ts);
+            for (int row = floorDiv(edge - EPSILON, ts) + 1; row <= last; row++) {
+                if (anySolidInRow(world, row, col0, col1)) return Math.max(0, row * ts - edge);
+            }
+        } else {
+            int last = floorDiv(y + dy + EPSILON, ts);
+            for (int row = floorDiv(y + EPSILON, ts) - 1; row >= last; row--) {
+                if (anySolidInRow(world, row, col0, col1)) return Math.min(0, (row + 1) * ts - y);
+            }
+        }
+        return dy;
+    }
+
+    private static boolean anySolidInColumn(World world, int col, int row0, int row1) {
+        for (int row = row0; row <= row1; row++) {
+            if (world.isSolid(col, row)) return true;
+        }
+        return false;
+    }
+
+    private static boolean anySolidInRow(World world, int row, int col0, int col1) {
+        for (int col = col0; col <= col1; col++) {
+            if (world.isSolid(col, row)) return true;
+        }
+        return false;
+    }
+
+    private static int floorDiv(double v, int ts) {
+        return (int) Math.floor(v / ts);
+    }
+}
@@ -71,7 +71,12 @@ public class GameApp extends Application {
 
         SaveLoadManager saveMgr = new SaveLoadManager(inventory, player, lvlMgr);
         if (!saveMgr.loadAll()) {
-            lvlMgr.init();
+            Long seed = infiniteSeed();
+            if (seed != null) {
+                lvlMgr.initInfinite(seed);
+            } else {
+                lvlMgr.init();
+            }
         }
 
         List<Recipe> recipes = RecipeLoader.loadRecipes("/recipes.txt");
@@ -80,8 +85,7 @@ public class GameApp extends Application {
         InputHandler input = new InputHandler(
                 player,
                 lvlMgr,
-                uiMgr,
-                lvlMgr.getNpcs()
+                uiMgr
         );
 
         // 4) Create and configure the game loop
@@ -106,10 +110,23 @@ public class GameApp extends Application {
         loop.start();
     }
 
+    /**
+     * Reads the "--infinite" or "--infinite=&lt;seed&gt;" command-line option.
+     *
+     * @return the seed to start an infinite world with, or null to play the level files
+     */
+    private Long infiniteSeed() {
+        for (String arg : getParameters().getRaw()) {
+            if (arg.equals("--infinite")) return System.currentTimeMillis();
+            if (arg.startsWith("--infinite=")) return Long.parseLong(arg.substring("--infinite=".length()));
+        }
+        return null;
+    }
+
     /**
      * Main method, launches the JavaFX application.
      *
-     * @param args command-line arguments (unused)
+     * @param args command-line arguments; "--infinite[=seed]" starts an endless generated world
      */
     public static void main(String[] args) {
         launch(args);
@@ -9,6 +9,7 @@ module org.example.game {
     exports engine.core;
     exports engine.input;
     exports engine.level;
+    exports engine.render;
     exports engine.save;
     exports engine.ui;
     exports entity;
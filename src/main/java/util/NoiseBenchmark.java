@@ -0,0 +1,94 @@
+package util;
+
+import world.ChunkedTerrainGenerator;
+import world.TileType;
+import world.World;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Command-line benchmark for {@link SimplexNoise} and {@link ChunkedTerrainGenerator}.
+ * <p>
+ * Prints samples per second for single-sample and batch noise evaluation,
+ * chunks per second for terrain generation on one thread and on the common
+ * pool, and the tile mix of a generated map as a sanity check. Each
+ * measurement is warmed up first so the JIT has compiled the hot loops.
+ * </p>
+ */
+public class NoiseBenchmark {
+    private static final int OCTAVES = 4;
+    /** Keeps results alive so the JIT cannot drop the measured work. */
+    private static double sink;
+
+    /**
+     * Runs every benchmark and prints the results.
+     *
+     * @param args unused
+     */
+    public static void main(String[] args) {
+        SimplexNoise noise = new SimplexNoise(1234L);
+        int n = 1 << 20;
+
+        report("noise2, one call per sample", n, () -> {
+            double s = 0;
+            for (int i = 0; i < n; i++) s += noise.noise2(i * 0.013, 7.5);
+            sink += s;
+        });
+        double[] row = new double[1024];
+        report("fractal2, " + OCTAVES + " octaves, one call per sample", n, () -> {
+            double s = 0;
+            for (int y = 0; y < n / row.length; y++) {
+                for (int x = 0; x < row.length; x++) s += noise.fractal2(x, y, 1.0 / 64, OCTAVES, 2.0, 0.5);
+            }
+            sink += s;
+        });
+        report("fractalRow2, " + OCTAVES + " octaves, 1024-sample rows", n, () -> {
+            for (int y = 0; y < n / row.length; y++) {
+                noise.fractalRow2(row, row.length, 0, y, 1.0 / 64, OCTAVES, 2.0, 0.5);
+                sink += row[y & 1023];
+            }
+        });
+        float[] grid = new float[World.CHUNK_SIZE * World.CHUNK_SIZE];
+        report("fractalGrid2, " + OCTAVES + " octaves, chunk grids", n, () -> {
+            for (int c = 0; c < n / grid.length; c++) {
+                noise.fractalGrid2(grid, World.CHUNK_SIZE, World.CHUNK_SIZE,
+                        c * World.CHUNK_SIZE, 0, 1.0 / 64, OCTAVES, 2.0, 0.5);
+                sink += grid[c & 1023];
+            }
+        });
+
+        ChunkedTerrainGenerator gen = new ChunkedTerrainGenerator(99L, 256);
+        TileType[] chunk = new TileType[World.CHUNK_SIZE * World.CHUNK_SIZE];
+        int chunks = 4096;
+        report("generateChunk, one thread (tiles)", chunks * chunk.length, () -> {
+            for (int c = 0; c < chunks; c++) {
+                gen.generateChunk(c % 512, c / 512 % 8, chunk);
+                sink += chunk[c & 1023].ordinal();
+            }
+        });
+        int width = chunks / 8 * World.CHUNK_SIZE;
+        report("generate, common pool of " + ForkJoinPool.commonPool().getParallelism() + " (tiles)",
+                (long) width * 256, () -> sink += gen.generate(width, ForkJoinPool.commonPool()).getChunks().size());
+
+        World world = gen.generate(1024, ForkJoinPool.commonPool());
+        Map<TileType, Integer> mix = new EnumMap<>(TileType.class);
+        for (int y = 0; y < world.getHeight(); y++) {
+            for (int x = 0; x < world.getWidth(); x++) mix.merge(world.getTile(x, y), 1, Integer::sum);
+        }
+        System.out.println("Tile mix of a 1024x256 map: " + mix);
+    }
+
+    /**
+     * Warms up, then times {@code work} and prints how many samples per second it processed.
+     */
+    private static void report(String name, long samples, Runnable work) {
+        for (int i = 0; i < 3; i++) work.run();
+        int runs = 5;
+        long start = System.nanoTime();
+        for (int i = 0; i < runs; i++) work.run();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%-52s %8.1f M samples/s%n", name, samples * runs / seconds / 1e6);
+    }
+}
@@ -0,0 +1,120 @@
+package util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Uniform-grid spatial index of objects by their position in pixels.
+ * <p>
+ * The plane is divided into square cells of {@code cellSize} pixels; each
+ * object is filed under the cell holding its anchor point (e.g. its top-left
+ * corner). A rectangle query visits only the cells the rectangle overlaps, so
+ * its cost depends on the area asked about and the objects found there, not
+ * on how many objects the grid holds. Only non-empty cells are allocated.
+ * </p>
+ * <p>
+ * Objects are indexed by point, not by extent: to find every object whose
+ * box overlaps a region, grow the query rectangle by the largest object size
+ * on the left and top. Query results may include objects just outside the
+ * rectangle, so callers still run their exact test on each one.
+ * </p>
+ *
+ * @param <T> type of the indexed objects
+ */
+public class SpatialGrid<T> {
+    private final int cellSize;
+    private final Map<Long, List<T>> cells = new HashMap<>();
+    private int size;
+
+    /**
+     * @param cellSize cell edge length in pixels, e.g. a few tiles
+     */
+    public SpatialGrid(int cellSize) {
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Adds an object at the given anchor point.
+     *
+     * @param obj the object
+     * @param x   anchor X in pixels
+     * @param y   anchor Y in pixels
+     */
+    public void insert(T obj, double x, double y) {
+        cells.computeIfAbsent(key(cell(x), cell(y)), k -> new ArrayList<>()).add(obj);
+        size++;
+    }
+
+    /**
+     * Removes an object, which must be given the anchor point it was inserted with.
+     *
+     * @param obj the object
+     * @param x   anchor X in pixels
+     * @param y   anchor Y in pixels
+     * @return true if the object was found and removed
+     */
+    public boolean remove(T obj, double x, double y) {
+        long key = key(cell(x), cell(y));
+        List<T> list = cells.get(key);
+        if (list == null) return false;
+        int i = list.indexOf(obj);
+        if (i < 0) return false;
+        // order within a cell does not matter, so swap in the last one
+        list.set(i, list.get(list.size() - 1));
+        list.remove(list.size() - 1);
+        if (list.isEmpty()) cells.remove(key);
+        size--;
+        return true;
+    }
+
+    /**
+     * Appends to {@code out} every object anchored in a cell overlapping the
+     * inclusive rectangle [x0..x1] x [y0..y1].
+     *
+     * @param x0  left edge in pixels
+     * @param y0  top edge in pixels
+     * @param x1  right edge in pixels
+     * @param y1  bottom edge in pixels
+     * @param out list to append to; it is not cleared
+     * @return {@code out}
+     */
+    public List<T> query(double x0, double y0, double x1, double y1, List<T> out) {
+        int cx0 = cell(x0), cx1 = cell(x1), cy0 = cell(y0), cy1 = cell(y1);
+        if ((long) (cx1 - cx0 + 1) * (cy1 - cy0 + 1) > cells.size()) {
+            // rectangle covers more cells than are occupied: scan the occupied ones
+            for (Map.Entry<Long, List<T>> e : cells.entrySet()) {
+                int cx = (int) (e.getKey() >> 32), cy = (int) (long) e.getKey();
+                if (cx >= cx0 && cx <= cx1 && cy >= cy0 && cy <= cy1) out.addAll(e.getValue());
+            }
+            return out;
+        }
+        for (int cy = cy0; cy <= cy1; cy++) {
+            for (int cx = cx0; cx <= cx1; cx++) {
+                List<T> list = cells.get(key(cx, cy));
+                if (list != null) out.addAll(list);
+            }
+        }
+        return out;
+    }
+
+    /** Removes every object. */
+    public void clear() {
+        cells.clear();
+        size = 0;
+    }
+
+    /** @return number of indexed objects */
+    public int size() {
+        return size;
+    }
+
+    private int cell(double v) {
+        return (int) Math.floor(v / cellSize);
+    }
+
+    private static long key(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xFFFFFFFFL);
+    }
+}
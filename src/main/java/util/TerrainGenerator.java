@@ -1,13 +1,28 @@
 package util;
 
-import java.io.FileWriter;
+import world.BinaryLevelFormat;
+import world.ItemType;
+import world.Level;
+import world.TilePalette;
+import world.TileRegistry;
+import world.TileType;
+import world.World;
+
+import java.io.Closeable;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 
 /**
- * Generates a simple 2D terrain map with a Perlin-like surface profile,
- * layered soil/stone, random caves, trees, autotiled grass edges, and item spawns.
+ * Generates a simple 2D terrain map with a simplex noise surface profile,
+ * layered soil/stone, iron ore veins, noise caves, trees, autotiled grass
+ * edges, and item spawns.
  * <p>
  * The output is written to a text file where each line represents one row of tiles:
  * <ul>
@@ -15,43 +30,69 @@ import java.util.Random;
  *   <li>'G' — grass block</li>
  *   <li>'D' — dirt block</li>
  *   <li>'S' — stone block</li>
+ *   <li>'I' — iron ore</li>
  *   <li>'T' — tree trunk</li>
  *   <li>'E' — leaf (tree foliage)</li>
  *   <li>'M' — tree stump</li>
  * </ul>
  * After the tile grid, a small number of item spawn lines are appended in the format:
  * <pre>ITEM &lt;itemId&gt; &lt;x&gt; &lt;y&gt;</pre>
+ * If the file name ends in {@value BinaryLevelFormat#EXTENSION}, the same map
+ * is written in the {@link BinaryLevelFormat binary format} instead.
+ * </p>
+ * <p>
+ * The map is never held in memory as a whole: rows are generated top to
+ * bottom, keeping only the rows next to the current one for autotiling, and
+ * written to a {@link FileChannel} about one chunk-row band at a time. Memory
+ * use is therefore O(width) per row and maps far larger than the heap can be
+ * generated.
  * </p>
  */
 public class TerrainGenerator {
+    /** Rows buffered before they are written to the file. */
+    private static final int BAND_ROWS = World.CHUNK_SIZE;
+
+    private static final int BASE_DIRT_THICKNESS = 15;
+    private static final double STONE_TO_DIRT_CHANCE = 0.2;
+    private static final int TRUNK_HEIGHT = 4;
+    private static final int LEAF_RADIUS  = 3;
+    /** Frequency of the first surface octave: hills roughly 100 tiles apart. */
+    private static final double SURFACE_FREQUENCY = 1.0 / 96;
+    /** Frequency of the ore noise; veins are a few tiles across. */
+    private static final double ORE_FREQUENCY = 1.0 / 8;
+    /** Ore noise threshold at the top and at the bottom of the map. */
+    private static final double ORE_THRESHOLD_TOP = 0.7, ORE_THRESHOLD_BOTTOM = 0.45;
+    /** Frequency of the cave noise; tunnels wind about every 30 tiles. */
+    private static final double CAVE_FREQUENCY = 1.0 / 32;
+    /** Half-width of the noise band carved out as tunnels. */
+    private static final double CAVE_WIDTH = 0.08;
 
     /**
      * Generates a terrain map with the specified dimensions and writes it to {@code file}.
      *
      * <p>Algorithm steps:
      * <ol>
-     *   <li>Generate a height profile of width {@code w} using random walk, clamped to [h/4, 3h/4].</li>
-     *   <li>Smooth the profile by averaging each point with its neighbors (two passes).</li>
-     *   <li>Build a {@code char[h][w]} grid:
+     *   <li>Generate a height profile of width {@code w} from fractal simplex noise, within [h/4, 3h/4].</li>
+     *   <li>Pick {@code w/30} tree positions, keeping trees far enough apart that their leaves never meet.</li>
+     *   <li>Build each row {@code y} from the top:
      *     <ul>
      *       <li>Y &lt; surface[x]: air ('.')</li>
      *       <li>Y == surface[x]: grass ('G')</li>
      *       <li>surface[x] &lt; Y &lt; surface[x]+baseDirtThickness: dirt ('D')</li>
      *       <li>below that: stone ('S') or occasional dirt by chance</li>
+     *       <li>iron ore ('I'): stone where a second noise field exceeds a threshold that drops with depth</li>
+     *       <li>stump ('M'), trunk ('T') and circular leaf clusters ('E') of the trees crossing the row</li>
+     *       <li>caves: tiles below the surface where 2D simplex noise is close to zero become air</li>
      *     </ul>
      *   </li>
-     *   <li>Plant {@code w/30} trees at random X positions if space allows:
-     *     <ul>
-     *       <li>Mark stump ('M'), trunk ('T'), and circular leaf clusters ('E')</li>
-     *     </ul>
-     *   </li>
-     *   <li>Carve random caves using multiple "walkers": each walker erases tiles to air as it randomly moves.</li>
      *   <li>Autotile grass edges: convert certain dirt blocks adjacent to air into edge variants ('G','L','R','B').</li>
-     *   <li>Write each row of {@code map} to {@code file}, then append 2–3 random banana item spawns.</li>
+     *   <li>Write each row to {@code file} as it is finished, then append 5–10 random banana item spawns
+     *       and an NPC in the middle.</li>
      * </ol>
      * </p>
      *
-     * @param file  path to the output text file (will be overwritten)
+     * @param file  path to the output file (will be overwritten); a
+     *              {@value BinaryLevelFormat#EXTENSION} name selects the binary format
      * @param w     map width in tiles
      * @param h     map height in tiles
      * @param seed  random seed for deterministic generation
@@ -60,125 +101,263 @@ public class TerrainGenerator {
     public static void generatePerlinLike(String file, int w, int h, long seed) throws IOException {
         Random rnd = new Random(seed);
         int[] surface = new int[w];
-        int baseDirtThickness = 15;
-        double stoneToDirtChance = 0.2;
-        int treeCount   = w / 30;
-        int trunkHeight = 4;
-        int leafRadius  = 3;
-
-        // 1) Generate height profile by random walk
-        surface[0] = h / 2;
-        for (int x = 1; x < w; x++) {
-            surface[x] = surface[x - 1] + rnd.nextInt(3) - 1;
-            surface[x] = Math.max(h/4, Math.min(3*h/4, surface[x]));
-        }
-        // Smooth the profile twice
-        for (int k = 0; k < 2; k++) {
-            for (int x = 1; x < w - 1; x++) {
-                surface[x] = (surface[x - 1] + surface[x] + surface[x + 1]) / 3;
+
+        // 1) Generate height profile from fractal noise, in the middle half of the map
+        double[] profile = new double[w];
+        new SimplexNoise(seed + 1).fractalRow2(profile, w, 0, 0, SURFACE_FREQUENCY, 4, 2.0, 0.5);
+        for (int x = 0; x < w; x++) {
+            int y = h / 2 + (int) Math.round(profile[x] * h / 4);
+            surface[x] = Math.max(h/4, Math.min(3*h/4, y));
+        }
+
+        // 2) Choose tree positions
+        int treeCount = w / 30;
+        int[] treeX = new int[treeCount];
+        int trees = 0;
+        for (int attempt = 0; trees < treeCount && attempt < treeCount * 10; attempt++) {
+            int tx = rnd.nextInt(w);
+            if (surface[tx] - 1 - TRUNK_HEIGHT - LEAF_RADIUS < 0 || nearTree(treeX, trees, tx)) continue;
+            treeX[trees++] = tx;
+        }
+
+        // 3) Build, autotile and write the rows, keeping only three of them
+        RowBuilder builder = new RowBuilder(w, h, surface, treeX, trees, rnd,
+                                            new SimplexNoise(seed), new SimplexNoise(seed + 2));
+        byte[] above = new byte[w], row = new byte[w], below = new byte[w];
+        Path path = Path.of(file);
+        try (RowSink out = file.endsWith(BinaryLevelFormat.EXTENSION)
+                ? new BinarySink(path, w, h) : new TextSink(path, w)) {
+            builder.build(0, below);
+            for (int y = 0; y < h; y++) {
+                byte[] t = above; above = row; row = below; below = t;
+                if (y + 1 < h) builder.build(y + 1, below);
+                autotile(row, y > 0 ? above : null, y + 1 < h ? below : null);
+                out.row(row);
+            }
+
+            // 4) Random item spawns and the NPC
+            List<Level.ItemSpawn> items = new ArrayList<>();
+            int bananaCount = 5 + rnd.nextInt(6);
+            for (int i = 0; i < bananaCount; i++) {
+                int bx = rnd.nextInt(w);
+                items.add(new Level.ItemSpawn(ItemType.BANANA, bx, surface[bx] - 1));
             }
+            int centerX = w / 2;
+            List<Level.NPCSpawn> npcs = List.of(new Level.NPCSpawn("bro", centerX, surface[centerX] - 1));
+            out.spawns(items, npcs);
         }
+    }
+
+    /** @return true if a tree in {@code treeX[0..n)} is close enough for its leaves to touch one at {@code x} */
+    private static boolean nearTree(int[] treeX, int n, int x) {
+        for (int i = 0; i < n; i++) {
+            if (Math.abs(treeX[i] - x) <= 2 * LEAF_RADIUS) return true;
+        }
+        return false;
+    }
+
+    /** Converts dirt blocks of {@code row} adjacent to air into grass edge variants. */
+    private static void autotile(byte[] row, byte[] above, byte[] below) {
+        int w = row.length;
+        for (int x = 0; x < w; x++) {
+            if (row[x] != 'D') continue;
+            int m = 0;
+            if (above != null && above[x] == '.') m |= 1;
+            if (x<w-1 && row[x+1] == '.')         m |= 2;
+            if (below != null && below[x] == '.') m |= 4;
+            if (x>0   && row[x-1] == '.')         m |= 8;
+            if ((m & 1)!=0)      row[x] = 'G';
+            else if ((m & 8)!=0) row[x] = 'L';
+            else if ((m & 2)!=0) row[x] = 'R';
+            else if ((m & 4)!=0) row[x] = 'B';
+        }
+    }
+
+    /** Produces the tiles of one row, before autotiling. Rows must be requested top to bottom. */
+    private static class RowBuilder {
+        private final int w, h, trees, minSurface;
+        private final int[] surface, treeX;
+        private final Random rnd;
+        private final SimplexNoise caves, ores;
+        private final double[] cave, ore;
 
-        // 2) Create base tile grid
-        char[][] map = new char[h][w];
-        for (int y = 0; y < h; y++) {
+        RowBuilder(int w, int h, int[] surface, int[] treeX, int trees, Random rnd,
+                   SimplexNoise caves, SimplexNoise ores) {
+            this.w = w;
+            this.h = h;
+            this.surface = surface;
+            this.treeX = treeX;
+            this.trees = trees;
+            this.rnd = rnd;
+            this.caves = caves;
+            this.ores = ores;
+            this.cave = new double[w];
+            this.ore = new double[w];
+            int min = h;
+            for (int s : surface) min = Math.min(min, s);
+            this.minSurface = min;
+        }
+
+        void build(int y, byte[] row) {
             for (int x = 0; x < w; x++) {
-                if (y < surface[x]) {
-                    map[y][x] = '.';
-                } else if (y == surface[x]) {
-                    map[y][x] = 'G';
-                } else if (y < surface[x] + baseDirtThickness) {
-                    map[y][x] = 'D';
+                int s = surface[x];
+                if (y < s) {
+                    row[x] = '.';
+                } else if (y == s) {
+                    row[x] = 'G';
+                } else if (y < s + BASE_DIRT_THICKNESS) {
+                    row[x] = 'D';
                 } else {
-                    map[y][x] = rnd.nextDouble() < stoneToDirtChance ? 'D' : 'S';
+                    row[x] = (byte) (rnd.nextDouble() < STONE_TO_DIRT_CHANCE ? 'D' : 'S');
                 }
             }
-        }
 
-        // 3) Plant trees
-        for (int i = 0; i < treeCount; i++) {
-            int tx = rnd.nextInt(w);
-            int sy = surface[tx] - 1;
-            if (sy - trunkHeight - leafRadius < 0) {
-                i--; continue;
-            }
-            boolean canPlace = true;
-            for (int dy = 0; dy <= trunkHeight + leafRadius; dy++) {
-                if (map[sy - dy][tx] != '.') { canPlace = false; break; }
+            // iron ore in the stone, more of it deeper down
+            if (y >= minSurface + BASE_DIRT_THICKNESS) {
+                ores.fractalRow2(ore, w, 0, y, ORE_FREQUENCY, 2, 2.0, 0.5);
+                double threshold = ORE_THRESHOLD_TOP + (ORE_THRESHOLD_BOTTOM - ORE_THRESHOLD_TOP) * y / h;
+                for (int x = 0; x < w; x++) {
+                    if (row[x] == 'S' && ore[x] > threshold) row[x] = 'I';
+                }
             }
-            if (!canPlace) { i--; continue; }
 
-            // stump
-            map[sy + 1][tx] = 'M';
-            // trunk
-            for (int dy = 0; dy < trunkHeight; dy++) {
-                map[sy - dy][tx] = 'T';
-            }
-            // leaves in a circle
-            for (int dx = -leafRadius; dx <= leafRadius; dx++) {
-                for (int dy = -leafRadius; dy <= leafRadius; dy++) {
-                    if (dx*dx + dy*dy <= leafRadius*leafRadius) {
-                        int lx = tx + dx, ly = sy - trunkHeight + dy;
-                        if (lx >= 0 && lx < w && ly >= 0 && ly < h && map[ly][lx] == '.') {
-                            map[ly][lx] = 'E';
-                        }
+            for (int i = 0; i < trees; i++) {
+                int tx = treeX[i], sy = surface[tx] - 1, top = sy - TRUNK_HEIGHT;
+                if (y == sy + 1) {
+                    row[tx] = 'M';
+                } else if (y > top && y <= sy) {
+                    row[tx] = 'T';
+                }
+                int dy = y - top;
+                if (dy < -LEAF_RADIUS || dy > LEAF_RADIUS) continue;
+                for (int dx = -LEAF_RADIUS; dx <= LEAF_RADIUS; dx++) {
+                    int lx = tx + dx;
+                    if (dx*dx + dy*dy <= LEAF_RADIUS*LEAF_RADIUS && lx >= 0 && lx < w && row[lx] == '.') {
+                        row[lx] = 'E';
                     }
                 }
             }
-        }
 
-        // 4) Carve caves with random walkers
-        int walkers = w / 15;
-        for (int i = 0; i < walkers; i++) {
-            int wx = rnd.nextInt(w), wy = rnd.nextInt(h);
-            for (int step = 0; step < w * 3; step++) {
-                map[wy][wx] = '.';
-                int dir = rnd.nextInt(4);
-                wx = Math.max(1, Math.min(w - 2, wx + (dir==0?1:dir==1?-1:0)));
-                wy = Math.max(1, Math.min(h - 2, wy + (dir==2?1:dir==3?-1:0)));
+            // the bottom row is never carved, so the map keeps a floor
+            if (y <= minSurface || y >= h - 1) return;
+            caves.fractalRow2(cave, w, 0, y, CAVE_FREQUENCY, 2, 2.0, 0.5);
+            for (int x = 0; x < w; x++) {
+                if (y > surface[x] && Math.abs(cave[x]) < CAVE_WIDTH) row[x] = '.';
             }
         }
+    }
 
-        // 5) Autotile grass edges on dirt blocks adjacent to air
-        for (int y = 0; y < h; y++) {
-            for (int x = 0; x < w; x++) {
-                if (map[y][x] != 'D') continue;
-                int m = 0;
-                if (y>0   && map[y-1][x] == '.') m |= 1;
-                if (x<w-1 && map[y][x+1] == '.') m |= 2;
-                if (y<h-1 && map[y+1][x] == '.') m |= 4;
-                if (x>0   && map[y][x-1] == '.') m |= 8;
-                if ((m & 1)!=0)      map[y][x] = 'G';
-                else if ((m & 8)!=0) map[y][x] = 'L';
-                else if ((m & 2)!=0) map[y][x] = 'R';
-                else if ((m & 4)!=0) map[y][x] = 'B';
-            }
+    /** Destination of the finished rows and the spawn tables. */
+    private interface RowSink extends Closeable {
+        /** Appends the next row, given as map characters. */
+        void row(byte[] chars) throws IOException;
+
+        /** Appends the spawns, after the last row. */
+        void spawns(List<Level.ItemSpawn> items, List<Level.NPCSpawn> npcs) throws IOException;
+    }
+
+    /** Writes the ASCII map format through a buffer holding about one band of rows. */
+    private static class TextSink implements RowSink {
+        private final FileChannel channel;
+        private final ByteBuffer buf;
+
+        TextSink(Path file, int w) throws IOException {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                       StandardOpenOption.TRUNCATE_EXISTING);
+            buf = ByteBuffer.allocateDirect(Math.max(4096, BAND_ROWS * (w + 1)));
         }
 
-        // 6) Write map and random item spawns to file
-        try (PrintWriter pw = new PrintWriter(new FileWriter(file))) {
-            for (char[] row : map) {
-                pw.println(new String(row));
+        @Override
+        public void row(byte[] chars) throws IOException {
+            ensure(chars.length + 1);
+            buf.put(chars).put((byte) '\n');
+        }
+
+        @Override
+        public void spawns(List<Level.ItemSpawn> items, List<Level.NPCSpawn> npcs) throws IOException {
+            for (Level.ItemSpawn s : items) {
+                line("ITEM " + s.itemType.getId() + " " + s.tileX + " " + s.tileY);
             }
-            int bananaCount = 5 + rnd.nextInt(6);
-            for (int i = 0; i < bananaCount; i++) {
-                int bx = rnd.nextInt(w);
-                int by = surface[bx] - 1;
-                pw.printf("ITEM %s %d %d%n", "banana", bx, by);
+            for (Level.NPCSpawn s : npcs) {
+                line("NPC " + s.npcId + " " + s.tileX + " " + s.tileY);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
             }
-            int centerX = w / 2;
-            int centerY = surface[centerX] - 1;
-            pw.printf("NPC %s %d %d%n", "bro", centerX, centerY);
+        }
+
+        private void line(String s) throws IOException {
+            byte[] b = (s + "\n").getBytes(StandardCharsets.US_ASCII);
+            ensure(b.length);
+            buf.put(b);
+        }
+
+        private void ensure(int n) throws IOException {
+            if (buf.remaining() < n) flush();
+        }
+
+        private void flush() throws IOException {
+            buf.flip();
+            while (buf.hasRemaining()) channel.write(buf);
+            buf.clear();
         }
     }
 
+    /** Translates map characters to palette ids and writes the binary format. */
+    private static class BinarySink implements RowSink {
+        private final BinaryLevelFormat.StreamWriter out;
+        private final byte[] charToId = new byte[128];
+        private final byte[] ids;
+
+        BinarySink(Path file, int w, int h) throws IOException {
+            // fixed palette: every type in declaration order, so id == ordinal
+            TilePalette palette = new TilePalette();
+            for (TileType t : TileType.values()) palette.idOf(t);
+            TileRegistry registry = TileRegistry.getShared();
+            for (char c = 0; c < charToId.length; c++) {
+                charToId[c] = (byte) palette.idOf(registry.fromChar(c));
+            }
+            ids = new byte[w];
+            out = new BinaryLevelFormat.StreamWriter(file, w, h, palette);
+        }
+
+        @Override
+        public void row(byte[] chars) throws IOException {
+            for (int x = 0; x < ids.length; x++) ids[x] = charToId[chars[x] & 0x7F];
+            out.writeRow(ids);
+        }
+
+        @Override
+        public void spawns(List<Level.ItemSpawn> items, List<Level.NPCSpawn> npcs) throws IOException {
+            out.writeSpawns(items, npcs);
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
 
     /**
      * A simple CLI entry point for quick testing.
-     * Generates a 100×50 map using the current time as seed,
-     * and writes it to "src/main/resources/map3.txt".
+     * <p>
+     * Arguments are {@code [file [width height [seed]]]}; by default a 100×100
+     * map is written to "src/main/resources/map1.txt" using the current time
+     * as seed. A {@value BinaryLevelFormat#EXTENSION} file name writes the
+     * binary format.
+     * </p>
      */
     public static void main(String[] args) throws IOException {
-        generatePerlinLike("src/main/resources/map1.txt", 100, 100, System.currentTimeMillis());
+        String file = args.length > 0 ? args[0] : "src/main/resources/map1.txt";
+        int w = args.length > 2 ? Integer.parseInt(args[1]) : 100;
+        int h = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : System.currentTimeMillis();
+        generatePerlinLike(file, w, h, seed);
     }
 }
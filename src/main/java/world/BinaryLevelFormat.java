@@ -0,0 +1,309 @@
+package world;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary level files ({@value #EXTENSION}), an alternative to the ASCII maps
+ * that loads without parsing text.
+ * <p>
+ * Files are read through {@link FileChannel#map memory mapping} (or, for a
+ * resource inside a JAR, one direct buffer), and the tile block is copied
+ * run by run straight into chunk storage with {@link World#loadTiles}, so
+ * loading allocates nothing per tile or per row. Layout (big-endian):
+ * </p>
+ * <pre>
+ * int     magic 'TMAP', int version
+ * int     width, int height
+ * int     palette size N, then N-1 tile names (id 0 is AIR)
+ * byte[]  width*height tile ids, row-major
+ * int     item spawn count, then per spawn: item id, int x, int y
+ * int     NPC spawn count, then per spawn: NPC id, int x, int y
+ * </pre>
+ * Names and ids are stored as one length byte followed by ASCII characters.
+ * <p>
+ * {@link #main} converts the ASCII maps in {@code src/main/resources}.
+ * {@link StreamWriter} writes the format row by row, for generators that
+ * never hold the whole level in memory.
+ * </p>
+ */
+public class BinaryLevelFormat {
+    /** File extension of binary level files. */
+    public static final String EXTENSION = ".tmap";
+
+    private static final int MAGIC   = 0x544D4150; // "TMAP"
+    private static final int VERSION = 1;
+
+    /**
+     * Writes a level in the binary format, replacing the file if it exists.
+     *
+     * @param level the level to write
+     * @param file  target file
+     * @throws RuntimeException if the file cannot be written
+     */
+    public static void write(Level level, Path file) {
+        World world = level.getWorld();
+        try (StreamWriter out = new StreamWriter(file, world.getWidth(), world.getHeight(), world.getPalette())) {
+            byte[] row = new byte[world.getWidth()];
+            for (int y = 0; y < world.getHeight(); y++) {
+                for (int x = 0; x < row.length; x++) {
+                    row[x] = (byte) world.getTileId(x, y);
+                }
+                out.writeRow(row);
+            }
+            out.writeSpawns(level.getItemSpawns(), level.getNpcSpawns());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write level: " + file, e);
+        }
+    }
+
+    /**
+     * Loads a binary level file by memory-mapping it.
+     *
+     * @param file the level file
+     * @return the loaded level, with no dirty chunks
+     * @throws RuntimeException if the file cannot be read or is malformed
+     */
+    public static Level read(Path file) {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            return parse(ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size()), file.toString());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read level: " + file, e);
+        }
+    }
+
+    /**
+     * Loads a binary level from the classpath. Resources on the file system
+     * are memory-mapped; resources inside a JAR are read into one direct buffer.
+     *
+     * @param resourcePath classpath path, e.g. "/map1.tmap"
+     * @return the loaded level, with no dirty chunks
+     * @throws RuntimeException if the resource is missing, unreadable or malformed
+     */
+    public static Level loadResource(String resourcePath) {
+        URL url = BinaryLevelFormat.class.getResource(resourcePath);
+        if (url == null) {
+            throw new RuntimeException("Resource not found: " + resourcePath);
+        }
+        try {
+            if ("file".equals(url.getProtocol())) {
+                return read(Path.of(url.toURI()));
+            }
+            try (InputStream is = url.openStream();
+                 ReadableByteChannel ch = Channels.newChannel(is)) {
+                ByteBuffer buf = ByteBuffer.allocateDirect(Math.max(is.available(), 4096));
+                while (ch.read(buf) >= 0) {
+                    if (!buf.hasRemaining()) {
+                        ByteBuffer bigger = ByteBuffer.allocateDirect(buf.capacity() * 2);
+                        bigger.put(buf.flip());
+                        buf = bigger;
+                    }
+                }
+                return parse(buf.flip(), resourcePath);
+            }
+        } catch (IOException | URISyntaxException e) {
+            throw new RuntimeException("Failed to load resource " + resourcePath, e);
+        }
+    }
+
+    /**
+     * Converts an ASCII map from the classpath to a binary level file.
+     *
+     * @param resourcePath classpath path of the text map, e.g. "/map1.txt"
+     * @param out          target file
+     * @param registry     registry used to parse the text map
+     */
+    public static void convert(String resourcePath, Path out, TileRegistry registry) {
+        write(WorldLoader.loadLevel(resourcePath, registry), out);
+    }
+
+    /**
+     * Converts the shipped ASCII maps to {@value #EXTENSION} files next to them
+     * in "src/main/resources", or the given resource names if any are passed.
+     *
+     * @param args optional resource names, e.g. "map1.txt"
+     */
+    public static void main(String[] args) {
+        String[] maps = args.length > 0 ? args : new String[]{"map1.txt", "map2.txt", "map3.txt"};
+        TileRegistry registry = TileRegistry.getShared();
+        for (String map : maps) {
+            Path out = Path.of("src/main/resources", map.replaceFirst("\\.txt$", "") + EXTENSION);
+            convert("/" + map, out, registry);
+            System.out.println("Wrote " + out);
+        }
+    }
+
+    /**
+     * Writes a binary level one row of tile ids at a time, so levels larger
+     * than the heap can be produced: only about one chunk-row band of tiles
+     * is buffered before it goes to the file channel.
+     * <p>
+     * Call {@link #writeRow} exactly {@code height} times, then
+     * {@link #writeSpawns} once, then {@link #close}.
+     * </p>
+     */
+    public static class StreamWriter implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buf;
+        private final int width;
+
+        /**
+         * Creates or replaces {@code file} and writes the header.
+         *
+         * @param file    target file
+         * @param width   level width in tiles
+         * @param height  level height in tiles
+         * @param palette palette the row ids refer to
+         * @throws IOException if the file cannot be written
+         */
+        public StreamWriter(Path file, int width, int height, TilePalette palette) throws IOException {
+            this.width = width;
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                       StandardOpenOption.TRUNCATE_EXISTING);
+            buf = ByteBuffer.allocateDirect(Math.max(1 << 16, World.CHUNK_SIZE * width));
+            buf.putInt(MAGIC).putInt(VERSION).putInt(width).putInt(height);
+            buf.putInt(palette.size());
+            for (int id = 1; id < palette.size(); id++) {
+                putName(palette.typeOf(id).name());
+            }
+        }
+
+        /**
+         * Appends the next row of tile ids.
+         *
+         * @param ids at least {@code width} palette ids; only the first {@code width} are written
+         * @throws IOException if the file cannot be written
+         */
+        public void writeRow(byte[] ids) throws IOException {
+            ensure(width);
+            buf.put(ids, 0, width);
+        }
+
+        /**
+         * Appends the spawn tables, after the last row.
+         *
+         * @param items item spawns
+         * @param npcs  NPC spawns
+         * @throws IOException if the file cannot be written
+         */
+        public void writeSpawns(List<Level.ItemSpawn> items, List<Level.NPCSpawn> npcs) throws IOException {
+            ensure(4);
+            buf.putInt(items.size());
+            for (Level.ItemSpawn s : items) {
+                putName(s.itemType.getId());
+                ensure(8);
+                buf.putInt(s.tileX).putInt(s.tileY);
+            }
+            ensure(4);
+            buf.putInt(npcs.size());
+            for (Level.NPCSpawn s : npcs) {
+                putName(s.npcId);
+                ensure(8);
+                buf.putInt(s.tileX).putInt(s.tileY);
+            }
+        }
+
+        /** Flushes what is buffered and closes the file. */
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+
+        private void putName(String s) throws IOException {
+            byte[] b = s.getBytes(StandardCharsets.US_ASCII);
+            if (b.length > 255) throw new IOException("Name too long: " + s);
+            ensure(1 + b.length);
+            buf.put((byte) b.length).put(b);
+        }
+
+        /** Flushes the buffer if fewer than {@code n} bytes are free. */
+        private void ensure(int n) throws IOException {
+            if (buf.remaining() < n) flush();
+        }
+
+        private void flush() throws IOException {
+            buf.flip();
+            while (buf.hasRemaining()) channel.write(buf);
+            buf.clear();
+        }
+    }
+
+    private static Level parse(ByteBuffer buf, String name) {
+        try {
+            if (buf.getInt() != MAGIC || buf.getInt() != VERSION) {
+                throw new RuntimeException("Not a binary level: " + name);
+            }
+            int width = buf.getInt(), height = buf.getInt();
+            if (width <= 0 || height <= 0) {
+                throw new RuntimeException("Malformed level: " + name + " is " + width + "x" + height);
+            }
+            World world = new World(width, height);
+
+            // a fresh palette hands out ids in order, so file ids map onto themselves
+            int paletteSize = buf.getInt();
+            if (paletteSize < 1 || paletteSize > 256) {
+                throw new RuntimeException("Malformed level: " + name + " has " + paletteSize + " palette entries");
+            }
+            for (int id = 1; id < paletteSize; id++) {
+                TileType t = TileType.valueOf(readName(buf));
+                if (world.getPalette().idOf(t) != id) {
+                    throw new RuntimeException("Duplicate palette entry " + t + " in " + name);
+                }
+            }
+
+            long tiles = (long) width * height;
+            if (buf.remaining() < tiles) {
+                throw new RuntimeException("Malformed level: " + name + " is truncated");
+            }
+            // every id must name a palette entry before any of them reaches chunk storage
+            int start = buf.position(), end = start + (int) tiles;
+            for (int i = start; i < end; i++) {
+                if ((buf.get(i) & 0xFF) >= paletteSize) {
+                    throw new RuntimeException("Malformed level: " + name + " has tile id "
+                            + (buf.get(i) & 0xFF) + " at offset " + i);
+                }
+            }
+            world.loadTiles(buf, start);
+            buf.position(end);
+
+            List<Level.ItemSpawn> itemSpawns = new ArrayList<>();
+            for (int i = buf.getInt(); i > 0; i--) {
+                ItemType t = ItemType.fromId(readName(buf));
+                int x = buf.getInt(), y = buf.getInt();
+                if (t != null) itemSpawns.add(new Level.ItemSpawn(t, x, y));
+            }
+            List<Level.NPCSpawn> npcSpawns = new ArrayList<>();
+            for (int i = buf.getInt(); i > 0; i--) {
+                npcSpawns.add(new Level.NPCSpawn(readName(buf), buf.getInt(), buf.getInt()));
+            }
+
+            world.clearDirty();
+            return new Level(world, itemSpawns, npcSpawns);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new RuntimeException("Malformed level: " + name, e);
+        }
+    }
+
+    private static String readName(ByteBuffer buf) {
+        byte[] b = new byte[buf.get() & 0xFF];
+        buf.get(b);
+        return new String(b, StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,139 @@
+package world;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A fixed-size square block of tiles, the unit of storage inside {@link World}.
+ * <p>
+ * Tiles are kept as one unsigned byte id each (see {@link TilePalette}) in a
+ * single flat array in row-major order, so a whole chunk is one contiguous
+ * 1 KiB allocation. Id {@code 0} is AIR, so a fresh chunk is empty.
+ * A second byte layer holds the autotile variant of each tile, i.e. the
+ * palette id that should actually be drawn (see {@link World#getVariantId}).
+ * Chunks are addressed by chunk coordinates, i.e. tile coordinates shifted
+ * right by {@link World#CHUNK_SHIFT}.
+ * </p>
+ */
+public class Chunk {
+    /** Chunk X coordinate (tile X &gt;&gt; CHUNK_SHIFT). */
+    private final int cx;
+    /** Chunk Y coordinate (tile Y &gt;&gt; CHUNK_SHIFT). */
+    private final int cy;
+    /** Tile ids in row-major order: index = localY * CHUNK_SIZE + localX. */
+    private final byte[] tiles = new byte[World.CHUNK_SIZE * World.CHUNK_SIZE];
+    /** Autotile variant ids, same layout as {@link #tiles}; maintained by World. */
+    private final byte[] variants = new byte[World.CHUNK_SIZE * World.CHUNK_SIZE];
+    /** Number of non-AIR tiles, so callers can skip chunks with nothing in them. */
+    private int filledCount = 0;
+    /** Set when a tile changes; cleared by {@link World#clearDirty()}. */
+    private boolean dirty = false;
+
+    /**
+     * Creates an empty (all AIR) chunk at the given chunk coordinates.
+     *
+     * @param cx chunk X coordinate
+     * @param cy chunk Y coordinate
+     */
+    public Chunk(int cx, int cy) {
+        this.cx = cx;
+        this.cy = cy;
+    }
+
+    /**
+     * Returns the tile id at the given chunk-local coordinates.
+     *
+     * @param lx local X in [0, CHUNK_SIZE)
+     * @param ly local Y in [0, CHUNK_SIZE)
+     * @return the palette id stored there, in [0, 256)
+     */
+    public int get(int lx, int ly) {
+        return tiles[(ly << World.CHUNK_SHIFT) | lx] & 0xFF;
+    }
+
+    /**
+     * Stores a tile id at the given chunk-local coordinates.
+     *
+     * @param lx local X in [0, CHUNK_SIZE)
+     * @param ly local Y in [0, CHUNK_SIZE)
+     * @param id the palette id to store
+     * @return true if the stored id changed
+     */
+    public boolean set(int lx, int ly, int id) {
+        int i = (ly << World.CHUNK_SHIFT) | lx;
+        int old = tiles[i] & 0xFF;
+        if (old == id) return false;
+        if (old == TilePalette.AIR_ID) filledCount++;
+        if (id == TilePalette.AIR_ID) filledCount--;
+        tiles[i] = (byte) id;
+        return true;
+    }
+
+    /**
+     * Copies a run of tile ids into one row of this chunk straight from a
+     * buffer, without touching the buffer's position.
+     *
+     * @param ly     local Y of the row
+     * @param src    buffer holding the ids
+     * @param index  absolute buffer index of the first id
+     * @param length number of ids to copy, at most CHUNK_SIZE
+     */
+    void loadRow(int ly, ByteBuffer src, int index, int length) {
+        int off = ly << World.CHUNK_SHIFT;
+        for (int i = 0; i < length; i++) {
+            if (tiles[off + i] != 0) filledCount--;
+        }
+        src.get(index, tiles, off, length);
+        for (int i = 0; i < length; i++) {
+            if (tiles[off + i] != 0) filledCount++;
+        }
+    }
+
+    /**
+     * @return the backing tile id array, row-major; callers must not modify it
+     */
+    byte[] tileBytes() {
+        return tiles;
+    }
+
+    /**
+     * Returns the autotile variant id at the given chunk-local coordinates.
+     *
+     * @param lx local X in [0, CHUNK_SIZE)
+     * @param ly local Y in [0, CHUNK_SIZE)
+     * @return the palette id to draw for this tile
+     */
+    public int getVariant(int lx, int ly) {
+        return variants[(ly << World.CHUNK_SHIFT) | lx] & 0xFF;
+    }
+
+    /**
+     * @param lx local X in [0, CHUNK_SIZE)
+     * @param ly local Y in [0, CHUNK_SIZE)
+     * @param id the palette id to draw for this tile
+     */
+    void setVariant(int lx, int ly, int id) {
+        variants[(ly << World.CHUNK_SHIFT) | lx] = (byte) id;
+    }
+
+    /** @return true if every tile in this chunk is AIR */
+    public boolean isEmpty() {
+        return filledCount == 0;
+    }
+
+    /** @return true if a tile changed since the world's dirty set was last cleared */
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * @param dirty new value of the dirty flag; maintained by {@link World}
+     */
+    void setDirty(boolean dirty) {
+        this.dirty = dirty;
+    }
+
+    /** @return chunk X coordinate */
+    public int getChunkX() { return cx; }
+    /** @return chunk Y coordinate */
+    public int getChunkY() { return cy; }
+}
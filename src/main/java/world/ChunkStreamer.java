@@ -0,0 +1,172 @@
+package world;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Fills a very wide {@link World} on demand for infinite-world mode.
+ * <p>
+ * Chunks are generated by a {@link ChunkedTerrainGenerator} the first time
+ * {@link #ensureLoaded} is asked for a region that touches them, typically
+ * the camera view and the player's collision box. {@link #unloadFar} drops
+ * chunks more than {@code keepRadius} chunks away from the player: untouched
+ * chunks are simply discarded, since the generator recreates them exactly,
+ * while chunks with edits are spilled to a temporary file and restored from
+ * it when the player comes back. Memory therefore stays bounded by the
+ * keep radius, however far the player walks.
+ * </p>
+ * <p>
+ * The world should be {@link #INFINITE_WIDTH} tiles wide with the player
+ * starting in the middle, which leaves millions of tiles in each direction.
+ * </p>
+ */
+public class ChunkStreamer {
+    /** Width of an infinite-mode world, in tiles. */
+    public static final int INFINITE_WIDTH = 1 << 24;
+    /** Default distance, in chunks, beyond which chunks are unloaded. */
+    public static final int DEFAULT_KEEP_RADIUS = 8;
+
+    private final World world;
+    private final ChunkedTerrainGenerator generator;
+    private final int keepRadius;
+
+    /** Keys of the chunks currently generated or restored, allocated or not. */
+    private final Set<Long> loaded = new HashSet<>();
+    /** Keys of unloaded chunks whose edits live in a spill file. */
+    private final Set<Long> spilled = new HashSet<>();
+    private Path spillDir;
+
+    private final TileType[] generated = new TileType[World.CHUNK_SIZE * World.CHUNK_SIZE];
+    private final byte[] ids = new byte[World.CHUNK_SIZE * World.CHUNK_SIZE];
+    /** Chunk rectangle of the last {@link #ensureLoaded} call that loaded everything. */
+    private int lastCx0 = 1, lastCy0, lastCx1 = 0, lastCy1;
+
+    /**
+     * Creates a streamer with the {@link #DEFAULT_KEEP_RADIUS default} keep radius.
+     *
+     * @param world     the world to fill; its height should match the generator's
+     * @param generator source of chunk content
+     */
+    public ChunkStreamer(World world, ChunkedTerrainGenerator generator) {
+        this(world, generator, DEFAULT_KEEP_RADIUS);
+    }
+
+    /**
+     * @param world      the world to fill; its height should match the generator's
+     * @param generator  source of chunk content
+     * @param keepRadius distance, in chunks, beyond which chunks are unloaded
+     */
+    public ChunkStreamer(World world, ChunkedTerrainGenerator generator, int keepRadius) {
+        this.world      = world;
+        this.generator  = generator;
+        this.keepRadius = keepRadius;
+    }
+
+    /**
+     * Generates or restores every chunk overlapping the inclusive tile
+     * rectangle [x0..x1] x [y0..y1], clamped to the world. Cheap when the
+     * rectangle covers the same chunks as the previous call.
+     */
+    public void ensureLoaded(int x0, int y0, int x1, int y1) {
+        x0 = Math.max(0, x0);  y0 = Math.max(0, y0);
+        x1 = Math.min(world.getWidth() - 1, x1);  y1 = Math.min(world.getHeight() - 1, y1);
+        if (x0 > x1 || y0 > y1) return;
+        int cx0 = x0 >> World.CHUNK_SHIFT, cx1 = x1 >> World.CHUNK_SHIFT;
+        int cy0 = y0 >> World.CHUNK_SHIFT, cy1 = y1 >> World.CHUNK_SHIFT;
+        if (cx0 == lastCx0 && cx1 == lastCx1 && cy0 == lastCy0 && cy1 == lastCy1) return;
+
+        world.beginBatch(); // one autotile pass and notification for all new chunks
+        try {
+            for (int cy = cy0; cy <= cy1; cy++) {
+                for (int cx = cx0; cx <= cx1; cx++) {
+                    if (loaded.add(World.chunkKey(cx, cy))) load(cx, cy);
+                }
+            }
+        } finally {
+            world.endBatch();
+        }
+        lastCx0 = cx0; lastCx1 = cx1;
+        lastCy0 = cy0; lastCy1 = cy1;
+    }
+
+    /**
+     * Unloads every chunk more than the keep radius away from the given tile,
+     * spilling edited chunks to disk first.
+     *
+     * @param tileX tile X coordinate of the player
+     * @param tileY tile Y coordinate of the player
+     */
+    public void unloadFar(int tileX, int tileY) {
+        int pcx = tileX >> World.CHUNK_SHIFT, pcy = tileY >> World.CHUNK_SHIFT;
+        List<Long> far = new ArrayList<>();
+        for (long key : loaded) {
+            int cx = (int) (key >> 32), cy = (int) key;
+            if (Math.abs(cx - pcx) > keepRadius || Math.abs(cy - pcy) > keepRadius) far.add(key);
+        }
+        if (far.isEmpty()) return;
+
+        for (long key : far) {
+            int cx = (int) (key >> 32), cy = (int) key;
+            Chunk c = world.getChunk(cx, cy);
+            if (c != null && c.isDirty()) spill(key, c);
+            world.unloadChunk(cx, cy);
+            loaded.remove(key);
+        }
+        lastCx0 = 1; lastCx1 = 0; // forget the cached rectangle
+    }
+
+    /** @return number of chunks currently generated or restored */
+    public int getLoadedCount() {
+        return loaded.size();
+    }
+
+    /** @return the generator chunks come from */
+    public ChunkedTerrainGenerator getGenerator() {
+        return generator;
+    }
+
+    private void load(int cx, int cy) {
+        long key = World.chunkKey(cx, cy);
+        if (spilled.contains(key)) {
+            try {
+                world.loadChunk(cx, cy, ByteBuffer.wrap(Files.readAllBytes(spillFile(key))), true);
+                return;
+            } catch (IOException e) {
+                System.err.println("Lost edits of chunk " + cx + "," + cy + ": " + e.getMessage());
+                spilled.remove(key);
+            }
+        }
+        generator.generateChunk(cx, cy, generated);
+        TilePalette palette = world.getPalette();
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = (byte) palette.idOf(generated[i]);
+        }
+        world.loadChunk(cx, cy, ByteBuffer.wrap(ids), false);
+    }
+
+    private void spill(long key, Chunk c) {
+        try {
+            if (spillDir == null) {
+                spillDir = Files.createTempDirectory("chunks");
+                spillDir.toFile().deleteOnExit();
+            }
+            Path file = spillFile(key);
+            if (spilled.add(key)) file.toFile().deleteOnExit();
+            Files.write(file, c.tileBytes());
+        } catch (IOException e) {
+            spilled.remove(key);
+            System.err.println("Could not spill chunk " + c.getChunkX() + "," + c.getChunkY()
+                    + ": " + e.getMessage());
+        }
+    }
+
+    private Path spillFile(long key) {
+        return spillDir.resolve("chunk" + (int) (key >> 32) + "_" + (int) key + ".bin");
+    }
+}
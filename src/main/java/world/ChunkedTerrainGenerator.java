@@ -0,0 +1,289 @@
+package world;
+
+import util.SimplexNoise;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Generates terrain one {@link World#CHUNK_SIZE}-square chunk at a time, where
+ * the content of every chunk depends only on {@code (seed, chunkX, chunkY)}.
+ * <p>
+ * Unlike {@link util.TerrainGenerator}, nothing is carried from one chunk to
+ * the next: features that cross chunk borders are pure functions of world
+ * coordinates (fractal {@link SimplexNoise} for the surface profile, tunnel
+ * caves and iron ore veins; coordinate hashes for trees), and purely local
+ * detail (dirt pockets in the stone) comes from a per-chunk seed. Noise is
+ * evaluated a chunk row or a whole chunk at a time. Chunks can
+ * therefore be generated in any order and on any number of threads, and
+ * {@link #generate} produces the same world whatever the parallelism.
+ * </p>
+ * <p>
+ * Generated tiles are base types only (grass on top, dirt, stone, trees);
+ * grass edges are left to the world's autotile layer.
+ * </p>
+ */
+public class ChunkedTerrainGenerator {
+    /** Frequency of the first surface octave: hills roughly 100 tiles apart. */
+    private static final double SURFACE_FREQUENCY = 1.0 / 96;
+
+    /** Dirt layer thickness below the surface, in tiles. */
+    private static final int DIRT_DEPTH   = 15;
+    /** Chance that a stone tile is a dirt pocket instead. */
+    private static final double DIRT_POCKET_CHANCE = 0.2;
+    /** Chance that a column holds a tree, before spacing is applied. */
+    private static final double TREE_CHANCE = 1.0 / 30;
+    private static final int TRUNK_HEIGHT = 4;
+    private static final int LEAF_RADIUS  = 3;
+    /** Caves are only carved this far below the surface. */
+    private static final int CAVE_MIN_DEPTH = 4;
+    /** Half-width of the noise band carved out as tunnels. */
+    private static final double CAVE_WIDTH = 0.09;
+    /** Ore noise threshold at the top and at the bottom of the map. */
+    private static final double ORE_THRESHOLD_TOP = 0.7, ORE_THRESHOLD_BOTTOM = 0.45;
+
+    /** Salts keeping the hash streams of different features independent. */
+    private static final int SALT_SURFACE = 1, SALT_TREE = 2, SALT_CAVE = 3,
+                             SALT_CHUNK = 4, SALT_SPAWN = 5, SALT_ORE = 6;
+
+    private final long seed;
+    private final int height;
+    private final SimplexNoise surfaceNoise, caveNoise, oreNoise;
+
+    /**
+     * @param seed   world seed
+     * @param height world height in tiles; the surface stays within its middle half
+     */
+    public ChunkedTerrainGenerator(long seed, int height) {
+        this.seed   = seed;
+        this.height = height;
+        this.surfaceNoise = new SimplexNoise(mix(seed + SALT_SURFACE));
+        this.caveNoise    = new SimplexNoise(mix(seed + SALT_CAVE));
+        this.oreNoise     = new SimplexNoise(mix(seed + SALT_ORE));
+    }
+
+    /** @return the world seed */
+    public long getSeed() { return seed; }
+
+    /** @return world height in tiles */
+    public int getHeight() { return height; }
+
+    /**
+     * Returns the Y coordinate of the grass tile in column x.
+     *
+     * @param x tile X coordinate, any value
+     * @return surface Y, within [height/4, 3*height/4]
+     */
+    public int surfaceY(int x) {
+        return toSurfaceY(surfaceNoise.fractal2(x, 0, SURFACE_FREQUENCY, 4, 2.0, 0.5));
+    }
+
+    /** Maps surface noise in [-1,1] to a row within the middle half of the map. */
+    private int toSurfaceY(double n) {
+        int y = height / 2 + (int) Math.round(n * height / 4);
+        return Math.max(height / 4, Math.min(3 * height / 4, y));
+    }
+
+    /**
+     * Generates one chunk.
+     *
+     * @param cx  chunk X coordinate
+     * @param cy  chunk Y coordinate
+     * @param out receives CHUNK_SIZE*CHUNK_SIZE tiles, row-major
+     */
+    public void generateChunk(int cx, int cy, TileType[] out) {
+        final int cs = World.CHUNK_SIZE;
+        Arrays.fill(out, TileType.AIR);
+        int x0 = cx << World.CHUNK_SHIFT, y0 = cy << World.CHUNK_SHIFT;
+        if (y0 >= height || y0 + cs <= 0) return;
+
+        // surface of this chunk's columns and of those whose trees can reach into it
+        int[] surface = new int[cs + 2 * LEAF_RADIUS];
+        int sx0 = x0 - LEAF_RADIUS;
+        double[] row = new double[surface.length];
+        surfaceNoise.fractalRow2(row, row.length, sx0, 0, SURFACE_FREQUENCY, 4, 2.0, 0.5);
+        for (int i = 0; i < surface.length; i++) surface[i] = toSurfaceY(row[i]);
+
+        // 1) ground, with dirt pockets from the chunk's own random stream
+        SplittableRandom rnd = new SplittableRandom(chunkSeed(cx, cy));
+        for (int ly = 0; ly < cs; ly++) {
+            int y = y0 + ly;
+            if (y < 0 || y >= height) continue;
+            for (int lx = 0; lx < cs; lx++) {
+                int s = surface[lx + LEAF_RADIUS];
+                TileType t;
+                if (y < s)                   t = TileType.AIR;
+                else if (y == s)             t = TileType.GRASS_TOP;
+                else if (y < s + DIRT_DEPTH) t = TileType.DIRT;
+                else t = rnd.nextDouble() < DIRT_POCKET_CHANCE ? TileType.DIRT : TileType.STONE;
+                out[ly * cs + lx] = t;
+            }
+        }
+
+        // 2) iron ore in the stone, more of it deeper down
+        float[] noise = new float[cs * cs];
+        oreNoise.fractalGrid2(noise, cs, cs, x0, y0, 1.0 / 8, 2, 2.0, 0.5);
+        for (int ly = 0; ly < cs; ly++) {
+            int y = y0 + ly;
+            double threshold = ORE_THRESHOLD_TOP
+                    + (ORE_THRESHOLD_BOTTOM - ORE_THRESHOLD_TOP) * y / height;
+            for (int lx = 0; lx < cs; lx++) {
+                int i = ly * cs + lx;
+                if (out[i] == TileType.STONE && noise[i] > threshold) out[i] = TileType.IRON_ORE;
+            }
+        }
+
+        // 3) tunnels along the zero band of fractal noise, never breaking through the surface
+        caveNoise.fractalGrid2(noise, cs, cs, x0, y0, 1.0 / 48, 3, 2.0, 0.5);
+        for (int ly = 0; ly < cs; ly++) {
+            int y = y0 + ly;
+            if (y < 0 || y >= height - 1) continue;
+            for (int lx = 0; lx < cs; lx++) {
+                if (y < surface[lx + LEAF_RADIUS] + CAVE_MIN_DEPTH) continue;
+                int i = ly * cs + lx;
+                if (Math.abs(noise[i]) < CAVE_WIDTH) out[i] = TileType.AIR;
+            }
+        }
+
+        // 4) trees whose leaves can reach this chunk
+        for (int tx = x0 - LEAF_RADIUS; tx < x0 + cs + LEAF_RADIUS; tx++) {
+            if (!isTree(tx, surface, sx0)) continue;
+            int s = surface[tx - sx0];
+            put(out, x0, y0, tx, s, TileType.TREE_MAIN);
+            for (int dy = 1; dy <= TRUNK_HEIGHT; dy++) {
+                put(out, x0, y0, tx, s - dy, TileType.TREE_TRUNK);
+            }
+            int leafY = s - 1 - TRUNK_HEIGHT;
+            for (int dy = -LEAF_RADIUS; dy <= LEAF_RADIUS; dy++) {
+                for (int dx = -LEAF_RADIUS; dx <= LEAF_RADIUS; dx++) {
+                    if (dx * dx + dy * dy > LEAF_RADIUS * LEAF_RADIUS) continue;
+                    int lx = tx + dx - x0, ly = leafY + dy - y0;
+                    if (lx < 0 || lx >= cs || ly < 0 || ly >= cs || leafY + dy >= height) continue;
+                    if (out[ly * cs + lx] == TileType.AIR) out[ly * cs + lx] = TileType.TREE_LEAVES;
+                }
+            }
+        }
+    }
+
+    /**
+     * Generates a whole map of the given width in parallel.
+     *
+     * @param width map width in tiles
+     * @param pool  pool to run the chunk tasks on
+     * @return the generated world, autotiled and with no dirty chunks
+     */
+    public World generate(int width, ForkJoinPool pool) {
+        // fixed palette: register every type in declaration order so id == ordinal
+        TilePalette palette = new TilePalette();
+        for (TileType t : TileType.values()) palette.idOf(t);
+
+        int chunksX = (width  + World.CHUNK_MASK) >> World.CHUNK_SHIFT;
+        int chunksY = (height + World.CHUNK_MASK) >> World.CHUNK_SHIFT;
+        byte[] ids = new byte[width * height];
+        pool.invoke(new ChunkTask(ids, width, chunksX, 0, chunksX * chunksY));
+
+        World world = new World(width, height, palette);
+        world.loadTiles(ByteBuffer.wrap(ids), 0);
+        world.clearDirty();
+        return world;
+    }
+
+    /**
+     * Generates a map of the given width on the common pool, together with a
+     * few banana spawns on the surface and an NPC in the middle.
+     *
+     * @param width map width in tiles
+     * @return the generated level
+     */
+    public Level generateLevel(int width) {
+        World world = generate(width, ForkJoinPool.commonPool());
+        List<Level.ItemSpawn> items = new ArrayList<>();
+        int bananas = 5 + (int) (hash(0, 0, SALT_SPAWN) * 6);
+        for (int i = 1; i <= bananas; i++) {
+            int bx = (int) (hash(i, 0, SALT_SPAWN) * width);
+            items.add(new Level.ItemSpawn(ItemType.BANANA, bx, surfaceY(bx) - 1));
+        }
+        List<Level.NPCSpawn> npcs = new ArrayList<>();
+        npcs.add(new Level.NPCSpawn("bro", width / 2, surfaceY(width / 2) - 1));
+        return new Level(world, items, npcs);
+    }
+
+    /** Generates a range of chunks, splitting it across the pool. */
+    private class ChunkTask extends RecursiveAction {
+        private static final int THRESHOLD = 4;
+        private final byte[] ids;
+        private final int width, chunksX, from, to;
+
+        ChunkTask(byte[] ids, int width, int chunksX, int from, int to) {
+            this.ids = ids;
+            this.width = width;
+            this.chunksX = chunksX;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > THRESHOLD) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new ChunkTask(ids, width, chunksX, from, mid),
+                          new ChunkTask(ids, width, chunksX, mid, to));
+                return;
+            }
+            final int cs = World.CHUNK_SIZE;
+            TileType[] tiles = new TileType[cs * cs];
+            for (int i = from; i < to; i++) {
+                int cx = i % chunksX, cy = i / chunksX;
+                generateChunk(cx, cy, tiles);
+                int x0 = cx * cs, y0 = cy * cs;
+                int w = Math.min(cs, width - x0), h = Math.min(cs, height - y0);
+                for (int ly = 0; ly < h; ly++) {
+                    int row = (y0 + ly) * width + x0;
+                    for (int lx = 0; lx < w; lx++) {
+                        ids[row + lx] = (byte) tiles[ly * cs + lx].ordinal();
+                    }
+                }
+            }
+        }
+    }
+
+    private boolean isTree(int x, int[] surface, int sx0) {
+        if (hash(x, 0, SALT_TREE) >= TREE_CHANCE) return false;
+        if (surface[x - sx0] - 1 - TRUNK_HEIGHT - LEAF_RADIUS < 0) return false;
+        // keep trees apart so their leaves never overlap: the leftmost one wins
+        for (int d = 1; d <= 2 * LEAF_RADIUS; d++) {
+            if (hash(x - d, 0, SALT_TREE) < TREE_CHANCE) return false;
+        }
+        return true;
+    }
+
+    private static void put(TileType[] out, int x0, int y0, int x, int y, TileType t) {
+        int lx = x - x0, ly = y - y0;
+        if (lx >= 0 && lx < World.CHUNK_SIZE && ly >= 0 && ly < World.CHUNK_SIZE) {
+            out[ly * World.CHUNK_SIZE + lx] = t;
+        }
+    }
+
+    /** @return the seed of the chunk's local random stream */
+    private long chunkSeed(int cx, int cy) {
+        return mix(seed ^ mix(((long) cx << 32 | (cy & 0xFFFFFFFFL)) + SALT_CHUNK));
+    }
+
+    /** @return a uniform value in [0,1) determined by the seed, (x,y) and salt */
+    private double hash(int x, int y, int salt) {
+        long h = mix(seed ^ mix(x * 0x9E3779B97F4A7C15L + y * 0xC2B2AE3D27D4EB4FL + salt));
+        return (h >>> 11) * 0x1.0p-53;
+    }
+
+    /** SplitMix64 finaliser. */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -15,18 +15,39 @@ public enum ItemType {
     // /** An arrow ammunition. */
     // ARROW("arrow"),
     /** A baton collectible or usable object. */
-    BATON("baton");
+    BATON("baton"),
+    /** A stick, dropped by tree trunks. */
+    STICK("stick", "/items/branch.png"),
+    /** A piece of stone, dropped by stone blocks. */
+    STONE("stone", "/tiles/stone.png"),
+    /** A lump of iron, dropped by iron ore. */
+    IRON("iron", "/tiles/iron.png");
 
     /** Unique string ID, as it appears in map/item spawn files. */
     private final String id;
+    /** Classpath resource of the sprite. */
+    private final String spritePath;
 
     /**
-     * Constructs an ItemType with the given unique ID.
+     * Constructs an ItemType with the given unique ID and the sprite
+     * {@code /items/<id>.png}.
      *
      * @param id the identifier used in map files and inventory
      */
     ItemType(String id) {
+        this(id, "/items/" + id + ".png");
+    }
+
+    /**
+     * Constructs an ItemType whose sprite is stored elsewhere, e.g. a
+     * shrunken tile texture.
+     *
+     * @param id         the identifier used in map files and inventory
+     * @param spritePath classpath resource of the sprite PNG
+     */
+    ItemType(String id, String spritePath) {
         this.id = id;
+        this.spritePath = spritePath;
     }
 
     /**
@@ -44,7 +65,7 @@ public enum ItemType {
      * @return the resource path (e.g. "/items/banana.png")
      */
     public String getSpritePath() {
-        return "/items/" + id + ".png";
+        return spritePath;
     }
 
     /**
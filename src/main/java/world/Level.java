@@ -5,26 +5,26 @@ import java.util.List;
 /**
  * Represents a game level, including the tile map and entity spawn data.
  * <p>
- * Contains the 2D array of tiles defining the world, as well as lists of
+ * Contains the {@link World} holding the tile layout, as well as lists of
  * item and NPC spawn points to initialize entities when the level is loaded.
  * </p>
  */
 public class Level {
-    private final TileType[][] tiles;
+    private final World world;
     private final List<ItemSpawn> itemSpawns;
     private final List<NPCSpawn>  npcSpawns;
 
     /**
      * Constructs a new Level with the specified tile layout and spawn points.
      *
-     * @param tiles      2D array of TileType defining the map layout
+     * @param world      the World holding the map layout
      * @param itemSpawns list of item spawn definitions for this level
      * @param npcSpawns  list of NPC spawn definitions for this level
      */
-    public Level(TileType[][] tiles,
+    public Level(World world,
                  List<ItemSpawn> itemSpawns,
                  List<NPCSpawn>  npcSpawns) {
-        this.tiles      = tiles;
+        this.world      = world;
         this.itemSpawns = itemSpawns;
         this.npcSpawns  = npcSpawns;
     }
@@ -32,10 +32,10 @@ public class Level {
     /**
      * Returns the tile map for this level.
      *
-     * @return a 2D array of TileType representing the level layout
+     * @return the World representing the level layout
      */
-    public TileType[][] getTiles() {
-        return tiles;
+    public World getWorld() {
+        return world;
     }
 
     /**
@@ -0,0 +1,139 @@
+package world;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes a {@link Level}, including every edit made to its {@link World},
+ * to a compact file and reads it back.
+ * <p>
+ * Only allocated chunks are stored, as raw palette ids, and the whole stream
+ * is gzip-compressed, so a mostly empty or uniform map takes a few kilobytes.
+ * Layout (big-endian):
+ * </p>
+ * <pre>
+ * int    magic 'TLVL', int version
+ * int    width, int height
+ * int    palette size, then one UTF tile name per id from 1 (id 0 is AIR)
+ * int    chunk count, then per chunk: int cx, int cy, CHUNK_SIZE² tile ids
+ * int    item spawn count, then per spawn: UTF item id, int x, int y
+ * int    NPC spawn count, then per spawn: UTF NPC id, int x, int y
+ * </pre>
+ */
+public class LevelStore {
+    private static final int MAGIC   = 0x544C564C; // "TLVL"
+    private static final int VERSION = 1;
+
+    /**
+     * Writes a level to the given file, replacing it if it exists.
+     *
+     * @param level the level to store
+     * @param file  target file
+     * @throws RuntimeException if the file cannot be written
+     */
+    public static void write(Level level, Path file) {
+        World world = level.getWorld();
+        TilePalette palette = world.getPalette();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new GZIPOutputStream(Files.newOutputStream(file))))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(world.getWidth());
+            out.writeInt(world.getHeight());
+
+            out.writeInt(palette.size());
+            for (int id = 1; id < palette.size(); id++) {
+                out.writeUTF(palette.typeOf(id).name());
+            }
+
+            out.writeInt(world.getChunks().size());
+            for (Chunk c : world.getChunks()) {
+                out.writeInt(c.getChunkX());
+                out.writeInt(c.getChunkY());
+                out.write(c.tileBytes());
+            }
+
+            out.writeInt(level.getItemSpawns().size());
+            for (Level.ItemSpawn s : level.getItemSpawns()) {
+                out.writeUTF(s.itemType.getId());
+                out.writeInt(s.tileX);
+                out.writeInt(s.tileY);
+            }
+            out.writeInt(level.getNpcSpawns().size());
+            for (Level.NPCSpawn s : level.getNpcSpawns()) {
+                out.writeUTF(s.npcId);
+                out.writeInt(s.tileX);
+                out.writeInt(s.tileY);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write level: " + file, e);
+        }
+    }
+
+    /**
+     * Reads a level written by {@link #write}. The returned world has no
+     * dirty chunks.
+     *
+     * @param file the stored level
+     * @return the restored level
+     * @throws RuntimeException if the file cannot be read or is not a stored level
+     */
+    public static Level read(Path file) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(file))))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new RuntimeException("Not a stored level: " + file);
+            }
+            World world = new World(in.readInt(), in.readInt());
+
+            // ids in the file → ids in the new world's palette
+            int[] remap = new int[in.readInt()];
+            for (int id = 1; id < remap.length; id++) {
+                remap[id] = world.getPalette().idOf(TileType.valueOf(in.readUTF()));
+            }
+
+            int chunkCount = in.readInt();
+            byte[] ids = new byte[World.CHUNK_SIZE * World.CHUNK_SIZE];
+            world.beginBatch(); // autotile once at the end
+            for (int i = 0; i < chunkCount; i++) {
+                int x0 = in.readInt() << World.CHUNK_SHIFT;
+                int y0 = in.readInt() << World.CHUNK_SHIFT;
+                in.readFully(ids);
+                for (int ly = 0; ly < World.CHUNK_SIZE; ly++) {
+                    for (int lx = 0; lx < World.CHUNK_SIZE; lx++) {
+                        int id = ids[(ly << World.CHUNK_SHIFT) | lx] & 0xFF;
+                        if (id != TilePalette.AIR_ID) {
+                            world.setTileId(x0 + lx, y0 + ly, remap[id]);
+                        }
+                    }
+                }
+            }
+            world.endBatch();
+
+            List<Level.ItemSpawn> itemSpawns = new ArrayList<>();
+            for (int i = in.readInt(); i > 0; i--) {
+                ItemType t = ItemType.fromId(in.readUTF());
+                int x = in.readInt(), y = in.readInt();
+                if (t != null) itemSpawns.add(new Level.ItemSpawn(t, x, y));
+            }
+            List<Level.NPCSpawn> npcSpawns = new ArrayList<>();
+            for (int i = in.readInt(); i > 0; i--) {
+                npcSpawns.add(new Level.NPCSpawn(in.readUTF(), in.readInt(), in.readInt()));
+            }
+
+            world.clearDirty();
+            return new Level(world, itemSpawns, npcSpawns);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new RuntimeException("Failed to read level: " + file, e);
+        }
+    }
+}
@@ -0,0 +1,351 @@
+package world;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-tile light levels of a {@link World}, kept up to date by flood fill.
+ * <p>
+ * Two channels are tracked, each from 0 (dark) to {@link #MAX_LIGHT}:
+ * <b>sky light</b> enters from above the map and falls straight down through
+ * non-solid tiles without fading; <b>block light</b> starts at tiles whose
+ * type {@linkplain TileType#getLightEmission() emits} it. From there, both
+ * spread to the four neighbours, losing 1 per non-solid tile and
+ * {@link #SOLID_COST} per solid one, so light reaches a few tiles into the
+ * ground and sealed caves stay dark.
+ * </p>
+ * <p>
+ * {@link #update} recomputes only what an edit of a rectangle can affect:
+ * it clears the light that came through the rectangle with a breadth-first
+ * removal pass, which stops at brighter tiles lit from elsewhere, then
+ * refills the cleared tiles breadth-first from those tiles and from any
+ * sources. The cost depends on the light radius around the edit, not on
+ * the size of the map. The bounds of every tile touched are reported through
+ * {@link #getChangedMinX()} and friends.
+ * </p>
+ * <p>
+ * Levels are stored per chunk, one byte per tile holding both channels.
+ * Chunks without stored levels read as full sky light and no block light,
+ * so open sky costs no memory; an update allocates a chunk's levels only
+ * when it writes something else there, and frees them again once the chunk
+ * is back to the default throughout.
+ * </p>
+ */
+public class LightMap {
+    /** Brightest light level. */
+    public static final int MAX_LIGHT = 15;
+    /** Light lost when passing into a solid tile. */
+    public static final int SOLID_COST = 3;
+
+    private static final int SKY = 0, BLOCK = 1;
+    /** Packed levels of a tile with nothing stored: full sky, no block light. */
+    private static final byte DEFAULT = (byte) (MAX_LIGHT << 4);
+    private static final int[] DX = {0, 1, 0, -1};
+    private static final int[] DY = {-1, 0, 1, 0};
+    private static final int DOWN = 2;
+
+    private final World world;
+    private final TilePalette palette;
+    /** Packed levels per chunk, sky in the high nibble; same layout as chunk tiles. */
+    private final Map<Long, byte[]> chunks = new HashMap<>();
+    private byte[] lastChunk;
+    private long lastKey;
+
+    /** Tiles to clear: x, y and their level before clearing. */
+    private final IntQueue removals = new IntQueue();
+    /** Tiles to spread light from: x and y. */
+    private final IntQueue additions = new IntQueue();
+
+    private int changedMinX, changedMinY, changedMaxX, changedMaxY;
+
+    /**
+     * @param world the world whose tiles block and emit light
+     */
+    public LightMap(World world) {
+        this.world = world;
+        this.palette = world.getPalette();
+    }
+
+    /**
+     * @param x tile X coordinate
+     * @param y tile Y coordinate
+     * @return the brighter of the sky and block light at (x,y)
+     */
+    public int getLight(int x, int y) {
+        int p = packed(x, y);
+        return Math.max(p >>> 4, p & 0xF);
+    }
+
+    /**
+     * @param x tile X coordinate
+     * @param y tile Y coordinate
+     * @return sky light at (x,y)
+     */
+    public int getSkyLight(int x, int y) {
+        return packed(x, y) >>> 4;
+    }
+
+    /**
+     * @param x tile X coordinate
+     * @param y tile Y coordinate
+     * @return block light at (x,y)
+     */
+    public int getBlockLight(int x, int y) {
+        return packed(x, y) & 0xF;
+    }
+
+    /**
+     * Tells whether every tile of a chunk is at full light, so an all-air
+     * chunk needs no drawing. Chunks without stored levels are; others are
+     * scanned, which costs one pass over {@link World#CHUNK_SIZE}² bytes.
+     *
+     * @param cx chunk X coordinate
+     * @param cy chunk Y coordinate
+     * @return true if no tile of the chunk is below {@link #MAX_LIGHT}
+     */
+    public boolean isFullyLit(int cx, int cy) {
+        byte[] c = chunk(cx, cy, false);
+        if (c == null) return true;
+        for (byte b : c) {
+            // full light in either channel
+            if ((b & 0xF0) != 0xF0 && (b & 0x0F) != 0x0F) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Recomputes light after the tiles in the inclusive rectangle
+     * [x0..x1] x [y0..y1] changed.
+     *
+     * @param x0 left tile X
+     * @param y0 top tile Y
+     * @param x1 right tile X
+     * @param y1 bottom tile Y
+     * @return true if any light level may have changed; see {@link #getChangedMinX()}
+     */
+    public boolean update(int x0, int y0, int x1, int y1) {
+        x0 = Math.max(0, x0);                     y0 = Math.max(0, y0);
+        x1 = Math.min(world.getWidth() - 1, x1);  y1 = Math.min(world.getHeight() - 1, y1);
+        changedMinX = changedMinY = Integer.MAX_VALUE;
+        changedMaxX = changedMaxY = Integer.MIN_VALUE;
+        if (x0 > x1 || y0 > y1) return false;
+        for (int ch = SKY; ch <= BLOCK; ch++) {
+            update(ch, x0, y0, x1, y1);
+        }
+        if (changedMinX > changedMaxX) return false;
+        releaseDefaultChunks();
+        return true;
+    }
+
+    /** @return number of chunks with stored levels, {@link World#CHUNK_SIZE}² bytes each */
+    public int getChunkCount() {
+        return chunks.size();
+    }
+
+    /** @return left tile X of the tiles touched by the last update */
+    public int getChangedMinX() { return changedMinX; }
+    /** @return top tile Y of the tiles touched by the last update */
+    public int getChangedMinY() { return changedMinY; }
+    /** @return right tile X of the tiles touched by the last update */
+    public int getChangedMaxX() { return changedMaxX; }
+    /** @return bottom tile Y of the tiles touched by the last update */
+    public int getChangedMaxY() { return changedMaxY; }
+
+    /**
+     * Forgets the levels of a chunk, e.g. when it is unloaded; they read as
+     * the default until the next update reaches them.
+     *
+     * @param cx chunk X coordinate
+     * @param cy chunk Y coordinate
+     */
+    public void unloadChunk(int cx, int cy) {
+        if (chunks.remove(World.chunkKey(cx, cy)) == lastChunk) lastChunk = null;
+    }
+
+    private void update(int ch, int x0, int y0, int x1, int y1) {
+        // 1) clear the rectangle; the old levels on its border drive the
+        //    removal pass (inner tiles only have cleared neighbours)
+        for (int y = y0; y <= y1; y++) {
+            for (int x = x0; x <= x1; x++) {
+                if (x == x0 || x == x1 || y == y0 || y == y1) {
+                    removals.push(x, y, get(ch, x, y));
+                }
+                set(ch, x, y, 0);
+            }
+        }
+
+        // 2) clear every level that may have come through a cleared tile;
+        //    brighter neighbours are lit from elsewhere and refill the gap
+        while (!removals.isEmpty()) {
+            int x = removals.pop(), y = removals.pop(), v = removals.pop();
+            for (int d = 0; d < 4; d++) {
+                int nx = x + DX[d], ny = y + DY[d];
+                if (!inBounds(nx, ny)) continue;
+                int nl = get(ch, nx, ny);
+                if (nl == 0) continue;
+                boolean fed = nl < v || (ch == SKY && d == DOWN && v == MAX_LIGHT && nl == MAX_LIGHT);
+                if (fed) {
+                    set(ch, nx, ny, 0);
+                    removals.push(nx, ny, nl);
+                    int s = source(ch, nx, ny);
+                    if (s > 0) {
+                        set(ch, nx, ny, s);
+                        additions.push(nx, ny);
+                    }
+                } else {
+                    additions.push(nx, ny);
+                }
+            }
+        }
+
+        // 3) light the sources inside the rectangle
+        for (int y = y0; y <= y1; y++) {
+            for (int x = x0; x <= x1; x++) {
+                int s = source(ch, x, y);
+                if (s > get(ch, x, y)) {
+                    set(ch, x, y, s);
+                    additions.push(x, y);
+                }
+            }
+        }
+
+        // 4) spread light into the cleared tiles
+        while (!additions.isEmpty()) {
+            int x = additions.pop(), y = additions.pop();
+            int v = get(ch, x, y);
+            if (v <= 1) continue;
+            for (int d = 0; d < 4; d++) {
+                int nx = x + DX[d], ny = y + DY[d];
+                if (!inBounds(nx, ny)) continue;
+                int nv = spread(ch, v, d, nx, ny);
+                if (nv > get(ch, nx, ny)) {
+                    set(ch, nx, ny, nv);
+                    additions.push(nx, ny);
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops the stored levels of chunks the last update touched that are back
+     * to the default throughout, e.g. open sky that was cleared and refilled,
+     * so only chunks that actually hold shade or block light cost memory.
+     */
+    private void releaseDefaultChunks() {
+        int cx1 = changedMaxX >> World.CHUNK_SHIFT, cy1 = changedMaxY >> World.CHUNK_SHIFT;
+        for (int cy = changedMinY >> World.CHUNK_SHIFT; cy <= cy1; cy++) {
+            for (int cx = changedMinX >> World.CHUNK_SHIFT; cx <= cx1; cx++) {
+                byte[] c = chunks.get(World.chunkKey(cx, cy));
+                if (c == null || !isDefault(c)) continue;
+                unloadChunk(cx, cy);
+            }
+        }
+    }
+
+    private static boolean isDefault(byte[] c) {
+        for (byte b : c) {
+            if (b != DEFAULT) return false;
+        }
+        return true;
+    }
+
+    /** Level that light of level {@code v} has after moving in direction {@code d} into (x,y). */
+    private int spread(int ch, int v, int d, int x, int y) {
+        boolean solid = palette.isSolid(world.getTileId(x, y));
+        if (ch == SKY && d == DOWN && v == MAX_LIGHT && !solid) return MAX_LIGHT;
+        return Math.max(0, v - (solid ? SOLID_COST : 1));
+    }
+
+    /** Level a tile has on its own: emitted block light, or sky light entering the top row. */
+    private int source(int ch, int x, int y) {
+        if (ch == BLOCK) return palette.getLightEmission(world.getTileId(x, y));
+        return y == 0 ? spread(SKY, MAX_LIGHT, DOWN, x, 0) : 0;
+    }
+
+    private boolean inBounds(int x, int y) {
+        return x >= 0 && y >= 0 && x < world.getWidth() && y < world.getHeight();
+    }
+
+    private int packed(int x, int y) {
+        if (!inBounds(x, y)) return DEFAULT & 0xFF;
+        byte[] c = chunk(x >> World.CHUNK_SHIFT, y >> World.CHUNK_SHIFT, false);
+        return (c == null ? DEFAULT : c[index(x, y)]) & 0xFF;
+    }
+
+    private int get(int ch, int x, int y) {
+        int p = packed(x, y);
+        return ch == SKY ? p >>> 4 : p & 0xF;
+    }
+
+    private void set(int ch, int x, int y, int v) {
+        int p = packed(x, y);
+        int np = ch == SKY ? (v << 4) | (p & 0xF) : (p & 0xF0) | v;
+        if (np == p) return;
+        // only now allocate, so writing the default into a missing chunk stays free
+        chunk(x >> World.CHUNK_SHIFT, y >> World.CHUNK_SHIFT, true)[index(x, y)] = (byte) np;
+        changedMinX = Math.min(changedMinX, x);
+        changedMinY = Math.min(changedMinY, y);
+        changedMaxX = Math.max(changedMaxX, x);
+        changedMaxY = Math.max(changedMaxY, y);
+    }
+
+    private byte[] chunk(int cx, int cy, boolean create) {
+        long key = World.chunkKey(cx, cy);
+        if (lastChunk != null && lastKey == key) return lastChunk;
+        byte[] c = chunks.get(key);
+        if (c == null) {
+            if (!create) return null;
+            c = new byte[World.CHUNK_SIZE * World.CHUNK_SIZE];
+            Arrays.fill(c, DEFAULT);
+            chunks.put(key, c);
+        }
+        lastChunk = c;
+        lastKey = key;
+        return c;
+    }
+
+    private static int index(int x, int y) {
+        return ((y & World.CHUNK_MASK) << World.CHUNK_SHIFT) | (x & World.CHUNK_MASK);
+    }
+
+    /** Growable ring buffer of ints, reused across updates. */
+    private static final class IntQueue {
+        private int[] items = new int[1024];
+        private int head, size;
+
+        void push(int a, int b) {
+            push(a);
+            push(b);
+        }
+
+        void push(int a, int b, int c) {
+            push(a);
+            push(b);
+            push(c);
+        }
+
+        void push(int v) {
+            if (size == items.length) {
+                int[] grown = new int[items.length * 2];
+                int tail = items.length - head;
+                System.arraycopy(items, head, grown, 0, tail);
+                System.arraycopy(items, 0, grown, tail, head);
+                items = grown;
+                head = 0;
+            }
+            items[(head + size++) & (items.length - 1)] = v;
+        }
+
+        int pop() {
+            int v = items[head];
+            head = (head + 1) & (items.length - 1);
+            size--;
+            return v;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+    }
+}
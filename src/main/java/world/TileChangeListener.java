@@ -0,0 +1,38 @@
+package world;
+
+/**
+ * Receives notifications when tiles in a {@link World} change.
+ * <p>
+ * Each call reports one rectangle of tile coordinates that contains every tile
+ * changed by a single edit or batch (see {@link World#beginBatch()}). Tiles
+ * inside the rectangle may be unchanged; tiles outside it are guaranteed to be.
+ * </p>
+ */
+@FunctionalInterface
+public interface TileChangeListener {
+
+    /**
+     * Called after tiles inside the given rectangle were modified.
+     *
+     * @param world  the world that changed
+     * @param x      left tile X of the changed region
+     * @param y      top tile Y of the changed region
+     * @param width  width of the region in tiles (at least 1)
+     * @param height height of the region in tiles (at least 1)
+     */
+    void tilesChanged(World world, int x, int y, int width, int height);
+
+    /**
+     * Called after the light level of tiles inside the given rectangle
+     * changed, following the {@link #tilesChanged} call for the edit that
+     * caused it. Ignored by default.
+     *
+     * @param world  the world that changed
+     * @param x      left tile X of the relit region
+     * @param y      top tile Y of the relit region
+     * @param width  width of the region in tiles (at least 1)
+     * @param height height of the region in tiles (at least 1)
+     */
+    default void lightChanged(World world, int x, int y, int width, int height) {
+    }
+}
@@ -0,0 +1,95 @@
+package world;
+
+import java.util.Arrays;
+
+/**
+ * The items dropped by one mining action, and which item each tile drops.
+ * <p>
+ * {@link World#mineTile(int, int, TileDrops)} reports every tile it breaks
+ * here. Drops of the same item are merged into a single stack placed at the
+ * centre of the tiles that dropped it, so felling a whole tree yields one
+ * stack of sticks rather than one entity per trunk tile. The caller spawns
+ * the stacks in one go and then {@link #clear()}s the batch for the next
+ * action; its arrays are reused, so mining allocates nothing.
+ * </p>
+ */
+public class TileDrops {
+    private static final ItemType[] ITEM_TYPES = ItemType.values();
+
+    /** Per item type: number of tiles that dropped it, and their summed coordinates. */
+    private final int[] count = new int[ITEM_TYPES.length];
+    private final long[] sumX = new long[ITEM_TYPES.length];
+    private final long[] sumY = new long[ITEM_TYPES.length];
+
+    /**
+     * Returns the item a broken tile drops.
+     *
+     * @param tile the tile that was broken
+     * @return the dropped item, or {@code null} if the tile drops nothing
+     */
+    public static ItemType dropOf(TileType tile) {
+        return switch (tile) {
+            case STONE      -> ItemType.STONE;
+            case IRON_ORE   -> ItemType.IRON;
+            case TREE_TRUNK -> ItemType.STICK;
+            default         -> null;
+        };
+    }
+
+    /**
+     * Records that a tile was broken.
+     *
+     * @param tile the tile's type before it was broken
+     * @param x    tile X coordinate
+     * @param y    tile Y coordinate
+     */
+    public void add(TileType tile, int x, int y) {
+        ItemType drop = dropOf(tile);
+        if (drop == null) return;
+        int t = drop.ordinal();
+        count[t]++;
+        sumX[t] += x;
+        sumY[t] += y;
+    }
+
+    /** @return true if nothing was dropped */
+    public boolean isEmpty() {
+        for (int c : count) {
+            if (c > 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * @param type an item type
+     * @return size of the stack of that item, 0 if none was dropped
+     */
+    public int getCount(ItemType type) {
+        return count[type.ordinal()];
+    }
+
+    /**
+     * @param type an item type that was dropped
+     * @return X of the stack's centre, in tiles
+     */
+    public double getCenterX(ItemType type) {
+        int t = type.ordinal();
+        return (double) sumX[t] / count[t] + 0.5;
+    }
+
+    /**
+     * @param type an item type that was dropped
+     * @return Y of the stack's centre, in tiles
+     */
+    public double getCenterY(ItemType type) {
+        int t = type.ordinal();
+        return (double) sumY[t] / count[t] + 0.5;
+    }
+
+    /** Forgets every drop, ready for the next action. */
+    public void clear() {
+        Arrays.fill(count, 0);
+        Arrays.fill(sumX, 0);
+        Arrays.fill(sumY, 0);
+    }
+}
@@ -0,0 +1,103 @@
+package world;
+
+import java.util.Arrays;
+
+/**
+ * Per-world mapping between compact byte tile ids and {@link TileType} values.
+ * <p>
+ * Chunks store one unsigned byte per tile; the palette translates those ids
+ * back into tile types. Ids are handed out in first-use order, except that
+ * {@link TileType#AIR} is always id {@code 0} so a zero-filled chunk is empty.
+ * Tile properties are mirrored into bitsets indexed by id, so hot-path
+ * queries such as {@link #isSolid(int)} are a shift and a mask with no
+ * branch and no enum dereference.
+ * </p>
+ */
+public class TilePalette {
+    /** Maximum number of distinct ids a byte can address. */
+    public static final int MAX_SIZE = 256;
+    /** Id reserved for {@link TileType#AIR}. */
+    public static final int AIR_ID = 0;
+
+    /** id → TileType. */
+    private final TileType[] types = new TileType[MAX_SIZE];
+    /** TileType ordinal → id, or -1 if the type has no id yet. */
+    private final int[] ids = new int[TileType.values().length];
+    /** Bit {@code id} is set if that tile is solid. */
+    private final long[] solidBits = new long[MAX_SIZE / 64];
+    /** Bit {@code id} is set if that tile is breakable. */
+    private final long[] breakableBits = new long[MAX_SIZE / 64];
+    /** id → block light the tile emits. */
+    private final byte[] emission = new byte[MAX_SIZE];
+    /** Number of ids in use. */
+    private int size = 0;
+
+    /**
+     * Creates a palette containing only AIR (id 0).
+     */
+    public TilePalette() {
+        Arrays.fill(ids, -1);
+        idOf(TileType.AIR);
+    }
+
+    /**
+     * Returns the id for a tile type, assigning the next free id on first use.
+     *
+     * @param type the tile type
+     * @return its id in [0, 256)
+     * @throws IllegalStateException if the palette is full
+     */
+    public int idOf(TileType type) {
+        int id = ids[type.ordinal()];
+        if (id >= 0) return id;
+        if (size == MAX_SIZE) {
+            throw new IllegalStateException("Tile palette is full");
+        }
+        id = size++;
+        ids[type.ordinal()] = id;
+        types[id] = type;
+        if (type.isSolid())     solidBits[id >>> 6]     |= 1L << id;
+        if (type.isBreakable()) breakableBits[id >>> 6] |= 1L << id;
+        emission[id] = (byte) type.getLightEmission();
+        return id;
+    }
+
+    /**
+     * Returns the tile type for an id.
+     *
+     * @param id a tile id previously returned by {@link #idOf(TileType)}
+     * @return the TileType, or {@code null} if the id is unassigned
+     */
+    public TileType typeOf(int id) {
+        return types[id];
+    }
+
+    /**
+     * @param id a tile id
+     * @return true if tiles with this id block movement
+     */
+    public boolean isSolid(int id) {
+        return ((solidBits[id >>> 6] >>> id) & 1L) != 0;
+    }
+
+    /**
+     * @param id a tile id
+     * @return true if tiles with this id can be mined
+     */
+    public boolean isBreakable(int id) {
+        return ((breakableBits[id >>> 6] >>> id) & 1L) != 0;
+    }
+
+    /**
+     * @param id a tile id
+     * @return block light level tiles with this id give off
+     */
+    public int getLightEmission(int id) {
+        return emission[id];
+    }
+
+    /** @return number of ids assigned so far */
+    public int size() {
+        return size;
+    }
+}
@@ -36,7 +36,10 @@ public enum TileType {
     TREE_TRUNK(false, true, "trunk"),
 
     /** Tree leaves; non-solid, breakable, texture "leaves". */
-    TREE_LEAVES(false, true, "leaves");
+    TREE_LEAVES(false, true, "leaves"),
+
+    /** Iron ore embedded in stone; solid, breakable, texture "iron"; glows faintly. */
+    IRON_ORE(true, true, "iron", 6);
 
     /** Whether this tile blocks movement and physics. */
     private final boolean solid;
@@ -44,6 +47,8 @@ public enum TileType {
     private final boolean breakable;
     /** Key used to load the tile's PNG texture, or null if none. */
     private final String textureKey;
+    /** Block light this tile gives off, 0 to {@link LightMap#MAX_LIGHT}. */
+    private final int lightEmission;
 
     /**
      * Constructs a TileType with the given properties.
@@ -53,9 +58,22 @@ public enum TileType {
      * @param textureKey the base name of the texture file (without path/extension), or null
      */
     TileType(boolean solid, boolean breakable, String textureKey) {
+        this(solid, breakable, textureKey, 0);
+    }
+
+    /**
+     * Constructs a TileType that emits light.
+     *
+     * @param solid         true if entities cannot pass through this tile
+     * @param breakable     true if the player can destroy this tile
+     * @param textureKey    the base name of the texture file, or null
+     * @param lightEmission block light level the tile gives off
+     */
+    TileType(boolean solid, boolean breakable, String textureKey, int lightEmission) {
         this.solid = solid;
         this.breakable = breakable;
         this.textureKey = textureKey;
+        this.lightEmission = lightEmission;
     }
 
     /**
@@ -79,6 +97,13 @@ public enum TileType {
         return textureKey;
     }
 
+    /**
+     * @return block light level this tile gives off; 0 for most tiles
+     */
+    public int getLightEmission() {
+        return lightEmission;
+    }
+
     /**
      * @return true if this tile represents empty space (AIR)
      */
@@ -1,12 +1,100 @@
 package world;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Represents the 2D tile-based world, providing access to tiles,
  * modification (mining/placing), and utility methods for collision and surface queries.
+ * <p>
+ * Tiles are stored in {@link Chunk}s of {@value #CHUNK_SIZE}x{@value #CHUNK_SIZE},
+ * kept in a map keyed by packed chunk coordinates (see {@link #chunkKey(int, int)}).
+ * Chunks are only allocated once they contain a non-AIR tile, so memory follows
+ * the tiles actually in use rather than the bounding box of the map.
+ * </p>
+ * <p>
+ * Each tile is stored as a one-byte id resolved through the world's
+ * {@link TilePalette}. Physics and other hot paths should prefer
+ * {@link #getTileId(int, int)}, {@link #isSolid(int, int)} and
+ * {@link #isBreakable(int, int)}, which never materialise a TileType.
+ * </p>
+ * <p>
+ * Mutations are observable in two ways: {@link TileChangeListener}s receive the
+ * rectangle touched by every edit (or by a whole {@linkplain #beginBatch() batch}),
+ * and every modified chunk is flagged dirty until {@link #clearDirty()}, so
+ * consumers such as saving can process only what changed.
+ * </p>
+ * <p>
+ * The world also keeps a precomputed autotile layer: for every tile, the
+ * palette id of the grass/dirt edge variant to draw. It is recomputed for the
+ * 3x3 neighbourhood of each edit, or once for the whole region touched by a
+ * batch, so renderers never inspect neighbours themselves.
+ * </p>
+ * <p>
+ * Light is kept the same way: a {@link LightMap} is updated by flood fill
+ * around every edit or batch, and listeners are told which tiles' light
+ * changed through {@link TileChangeListener#lightChanged}.
+ * </p>
  */
 public class World {
-    private final TileType[][] tiles;
-    private final int width, height;
+    /** log2 of the chunk edge length. */
+    public static final int CHUNK_SHIFT = 5;
+    /** Chunk edge length in tiles. */
+    public static final int CHUNK_SIZE  = 1 << CHUNK_SHIFT;
+    /** Mask extracting the chunk-local part of a tile coordinate. */
+    public static final int CHUNK_MASK  = CHUNK_SIZE - 1;
+
+    private final Map<Long, Chunk> chunks = new HashMap<>();
+    private final TilePalette palette;
+    private final int width;
+    /** Map height in tiles; only a streaming loader grows it, see {@link #loadRows}. */
+    private int height;
+    /** Sky and block light of every tile. */
+    private final LightMap light;
+
+    private final List<TileChangeListener> listeners = new ArrayList<>();
+    /** Chunks modified since the last {@link #clearDirty()}, in modification order. */
+    private final List<Chunk> dirtyChunks = new ArrayList<>();
+
+    /** Nesting depth of {@link #beginBatch()} calls. */
+    private int batchDepth = 0;
+    /** Bounds of the tiles changed in the current batch; minX &gt; maxX when none. */
+    private int batchMinX, batchMinY, batchMaxX, batchMaxY;
+
+    /** Most recently accessed chunk; neighbouring lookups usually hit the same one. */
+    private Chunk lastChunk;
+    /** Packed key of {@link #lastChunk}. */
+    private long lastKey;
+
+    /**
+     * Constructs an empty (all AIR) world of the given size.
+     *
+     * @param width  map width in tiles
+     * @param height map height in tiles
+     */
+    public World(int width, int height) {
+        this(width, height, new TilePalette());
+    }
+
+    /**
+     * Constructs an empty world that resolves ids through an existing palette,
+     * so a loader can translate tiles to ids before the world exists.
+     *
+     * @param width   map width in tiles
+     * @param height  map height in tiles
+     * @param palette the palette; it becomes owned by this world
+     */
+    World(int width, int height, TilePalette palette) {
+        this.width   = width;
+        this.height  = height;
+        this.palette = palette;
+        this.light   = new LightMap(this);
+    }
 
     /**
      * Constructs a World from a pre-built 2D array of TileType.
@@ -14,9 +102,95 @@ public class World {
      * @param tiles a non‐empty 2D array [row=y][col=x] of tiles
      */
     public World(TileType[][] tiles) {
-        this.tiles  = tiles;
-        this.height = tiles.length;
-        this.width  = tiles[0].length;
+        this(tiles[0].length, tiles.length);
+        beginBatch();
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                setTile(x, y, tiles[y][x]);
+            }
+        }
+        endBatch();
+        clearDirty();
+    }
+
+    /**
+     * Packs chunk coordinates into a single map key.
+     *
+     * @param cx chunk X coordinate
+     * @param cy chunk Y coordinate
+     * @return a long with cx in the high and cy in the low 32 bits
+     */
+    public static long chunkKey(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Returns the chunk at the given chunk coordinates, if it has been allocated.
+     *
+     * @param cx chunk X coordinate
+     * @param cy chunk Y coordinate
+     * @return the Chunk, or {@code null} if no tile in it was ever set
+     */
+    public Chunk getChunk(int cx, int cy) {
+        long key = chunkKey(cx, cy);
+        if (lastChunk != null && lastKey == key) return lastChunk;
+        Chunk c = chunks.get(key);
+        if (c != null) {
+            lastChunk = c;
+            lastKey   = key;
+        }
+        return c;
+    }
+
+    /**
+     * @return an unmodifiable view of every allocated chunk, in no particular order
+     */
+    public Collection<Chunk> getChunks() {
+        return Collections.unmodifiableCollection(chunks.values());
+    }
+
+    /**
+     * Estimates the heap used by this world's tile data: two byte layers per
+     * allocated chunk plus a fixed per-chunk overhead, and one byte of light
+     * per tile of every chunk the {@link LightMap} stores levels for.
+     *
+     * @return approximate size in bytes
+     */
+    public long estimateBytes() {
+        return (long) chunks.size() * (2L * CHUNK_SIZE * CHUNK_SIZE + 96)
+                + (long) light.getChunkCount() * CHUNK_SIZE * CHUNK_SIZE;
+    }
+
+    /**
+     * Returns the chunk at the given chunk coordinates, allocating it if needed.
+     *
+     * @param cx chunk X coordinate
+     * @param cy chunk Y coordinate
+     * @return the existing or newly created Chunk
+     */
+    private Chunk getOrCreateChunk(int cx, int cy) {
+        Chunk c = getChunk(cx, cy);
+        if (c == null) {
+            c = new Chunk(cx, cy);
+            chunks.put(chunkKey(cx, cy), c);
+            lastChunk = c;
+            lastKey   = chunkKey(cx, cy);
+        }
+        return c;
+    }
+
+    /**
+     * Returns the palette id of the tile at (x,y), or the AIR id if (x,y) is
+     * outside the map bounds.
+     *
+     * @param x tile X coordinate
+     * @param y tile Y coordinate
+     * @return the tile id, resolvable through {@link #getPalette()}
+     */
+    public int getTileId(int x, int y) {
+        if (x < 0 || y < 0 || y >= height || x >= width) return TilePalette.AIR_ID;
+        Chunk c = getChunk(x >> CHUNK_SHIFT, y >> CHUNK_SHIFT);
+        return c == null ? TilePalette.AIR_ID : c.get(x & CHUNK_MASK, y & CHUNK_MASK);
     }
 
     /**
@@ -27,8 +201,7 @@ public class World {
      * @return the TileType at that position, or TileType.AIR if out of bounds
      */
     public TileType getTile(int x, int y) {
-        if (x < 0 || y < 0 || y >= height || x >= width) return TileType.AIR;
-        return tiles[y][x];
+        return palette.typeOf(getTileId(x, y));
     }
 
     /**
@@ -39,8 +212,311 @@ public class World {
      * @param type the TileType to place
      */
     public void setTile(int x, int y, TileType type) {
+        setTileId(x, y, palette.idOf(type));
+    }
+
+    /**
+     * Sets the tile at (x,y) to the given palette id, if within bounds.
+     *
+     * @param x  tile X coordinate
+     * @param y  tile Y coordinate
+     * @param id a tile id obtained from {@link #getPalette()}
+     */
+    public void setTileId(int x, int y, int id) {
         if (x < 0 || y < 0 || y >= height || x >= width) return;
-        tiles[y][x] = type;
+        Chunk c = id == TilePalette.AIR_ID
+                ? getChunk(x >> CHUNK_SHIFT, y >> CHUNK_SHIFT)
+                : getOrCreateChunk(x >> CHUNK_SHIFT, y >> CHUNK_SHIFT);
+        // writing AIR into an unallocated chunk is a no-op
+        if (c == null || !c.set(x & CHUNK_MASK, y & CHUNK_MASK, id)) return;
+
+        if (!c.isDirty()) {
+            c.setDirty(true);
+            dirtyChunks.add(c);
+        }
+        if (batchDepth > 0) {
+            batchMinX = Math.min(batchMinX, x);
+            batchMinY = Math.min(batchMinY, y);
+            batchMaxX = Math.max(batchMaxX, x);
+            batchMaxY = Math.max(batchMaxY, y);
+        } else {
+            updateAutotile(x - 1, y - 1, x + 1, y + 1);
+            refresh(x, y, x, y);
+        }
+    }
+
+    /**
+     * Bulk-loads the whole map from a row-major block of {@code width*height}
+     * tile ids, copying row runs directly into chunk storage. Only chunks that
+     * receive a non-AIR tile are allocated. The ids must already be valid in
+     * this world's palette. Counts as one batch: the autotile layer is
+     * refreshed and listeners are notified once.
+     *
+     * @param src    buffer holding the ids
+     * @param offset absolute buffer index of tile (0,0)
+     */
+    public void loadTiles(ByteBuffer src, int offset) {
+        beginBatch();
+        copyRows(src, offset, 0, height);
+        endBatch();
+    }
+
+    /**
+     * Appends rows below the current bottom of the map, growing its height,
+     * so a loader can hand over a map band by band without knowing its final
+     * height. Otherwise like {@link #loadTiles}; callers loading several
+     * bands wrap them in one batch so autotiling sees the finished map.
+     *
+     * @param src    buffer holding {@code rows*width} ids
+     * @param offset absolute buffer index of the first tile of the first new row
+     * @param rows   number of rows to append
+     */
+    void loadRows(ByteBuffer src, int offset, int rows) {
+        int y0 = height;
+        height += rows;
+        beginBatch();
+        copyRows(src, offset - y0 * width, y0, height);
+        endBatch();
+    }
+
+    /** Copies rows [y0..y1) into chunks; {@code offset} is the buffer index of tile (0,0). */
+    private void copyRows(ByteBuffer src, int offset, int y0, int y1) {
+        for (int y = y0; y < y1; y++) {
+            int ly  = y & CHUNK_MASK;
+            int row = offset + y * width;
+            for (int x0 = 0; x0 < width; x0 += CHUNK_SIZE) {
+                int len = Math.min(CHUNK_SIZE, width - x0);
+                Chunk c = getChunk(x0 >> CHUNK_SHIFT, y >> CHUNK_SHIFT);
+                if (c == null && isAir(src, row + x0, len)) continue;
+                if (c == null) c = getOrCreateChunk(x0 >> CHUNK_SHIFT, y >> CHUNK_SHIFT);
+                c.loadRow(ly, src, row + x0, len);
+                if (!c.isDirty()) {
+                    c.setDirty(true);
+                    dirtyChunks.add(c);
+                }
+            }
+        }
+        if (y0 >= y1) return;
+        batchMinX = Math.min(batchMinX, 0);
+        batchMinY = Math.min(batchMinY, y0);
+        batchMaxX = Math.max(batchMaxX, width - 1);
+        batchMaxY = Math.max(batchMaxY, y1 - 1);
+    }
+
+    /**
+     * Replaces the content of one whole chunk, e.g. when a {@link ChunkStreamer}
+     * generates or restores it. The chunk is allocated only if it holds a
+     * non-AIR tile. Autotiling and listeners treat it like an edit of the
+     * chunk's area, but the chunk is only flagged dirty if {@code dirty} is set.
+     *
+     * @param cx    chunk X coordinate
+     * @param cy    chunk Y coordinate
+     * @param ids   CHUNK_SIZE*CHUNK_SIZE palette ids, row-major, from index 0
+     * @param dirty whether the content differs from what the generator produces
+     */
+    void loadChunk(int cx, int cy, ByteBuffer ids, boolean dirty) {
+        int n = CHUNK_SIZE * CHUNK_SIZE;
+        Chunk c = getChunk(cx, cy);
+        if (c == null && isAir(ids, 0, n)) return;
+        if (c == null) c = getOrCreateChunk(cx, cy);
+        for (int ly = 0; ly < CHUNK_SIZE; ly++) {
+            c.loadRow(ly, ids, ly << CHUNK_SHIFT, CHUNK_SIZE);
+        }
+        if (dirty && !c.isDirty()) {
+            c.setDirty(true);
+            dirtyChunks.add(c);
+        }
+
+        int x0 = cx << CHUNK_SHIFT, y0 = cy << CHUNK_SHIFT;
+        if (batchDepth > 0) {
+            batchMinX = Math.min(batchMinX, x0);
+            batchMinY = Math.min(batchMinY, y0);
+            batchMaxX = Math.max(batchMaxX, x0 + CHUNK_MASK);
+            batchMaxY = Math.max(batchMaxY, y0 + CHUNK_MASK);
+        } else {
+            updateAutotile(x0 - 1, y0 - 1, x0 + CHUNK_SIZE, y0 + CHUNK_SIZE);
+            refresh(x0, y0, x0 + CHUNK_MASK, y0 + CHUNK_MASK);
+        }
+    }
+
+    /**
+     * Drops a chunk from memory without notifying listeners; its tiles read
+     * as AIR afterwards. Used by {@link ChunkStreamer} for chunks far from the
+     * player, after saving any edits.
+     *
+     * @param cx chunk X coordinate
+     * @param cy chunk Y coordinate
+     */
+    void unloadChunk(int cx, int cy) {
+        light.unloadChunk(cx, cy);
+        Chunk c = chunks.remove(chunkKey(cx, cy));
+        if (c == null) return;
+        if (c == lastChunk) lastChunk = null;
+        if (c.isDirty()) {
+            c.setDirty(false);
+            dirtyChunks.remove(c);
+        }
+    }
+
+    private static boolean isAir(ByteBuffer src, int index, int length) {
+        for (int i = index; i < index + length; i++) {
+            if (src.get(i) != TilePalette.AIR_ID) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Starts a batch of edits. Until the matching {@link #endBatch()}, changes
+     * are accumulated and reported to listeners as a single rectangle, and the
+     * autotile layer is refreshed once for that rectangle instead of per tile.
+     * Batches may nest; only the outermost one fires.
+     */
+    public void beginBatch() {
+        if (batchDepth++ == 0) {
+            batchMinX = batchMinY = Integer.MAX_VALUE;
+            batchMaxX = batchMaxY = Integer.MIN_VALUE;
+        }
+    }
+
+    /**
+     * Ends a batch started with {@link #beginBatch()}, relighting and
+     * notifying listeners of the bounding rectangle of all tiles changed in
+     * it, if any.
+     */
+    public void endBatch() {
+        if (batchDepth == 0) {
+            throw new IllegalStateException("endBatch() without beginBatch()");
+        }
+        if (--batchDepth == 0 && batchMinX <= batchMaxX) {
+            updateAutotile(batchMinX - 1, batchMinY - 1, batchMaxX + 1, batchMaxY + 1);
+            refresh(batchMinX, batchMinY, batchMaxX, batchMaxY);
+        }
+    }
+
+    /**
+     * Registers a listener to be told about tile changes.
+     *
+     * @param l the listener to add
+     */
+    public void addChangeListener(TileChangeListener l) {
+        listeners.add(l);
+    }
+
+    /**
+     * Unregisters a listener previously added with {@link #addChangeListener}.
+     *
+     * @param l the listener to remove
+     */
+    public void removeChangeListener(TileChangeListener l) {
+        listeners.remove(l);
+    }
+
+    /**
+     * Returns the chunks modified since the last {@link #clearDirty()}.
+     *
+     * @return an unmodifiable view of the dirty chunks
+     */
+    public List<Chunk> getDirtyChunks() {
+        return Collections.unmodifiableList(dirtyChunks);
+    }
+
+    /**
+     * Clears the dirty flag on every chunk, e.g. after the changes were saved.
+     */
+    public void clearDirty() {
+        for (Chunk c : dirtyChunks) c.setDirty(false);
+        dirtyChunks.clear();
+    }
+
+    /**
+     * Returns the palette id to draw at (x,y) after autotiling, e.g. GRASS_LEFT
+     * for a dirt tile with air to its west.
+     *
+     * @param x tile X coordinate
+     * @param y tile Y coordinate
+     * @return the variant id, or the AIR id if out of bounds
+     */
+    public int getVariantId(int x, int y) {
+        if (x < 0 || y < 0 || y >= height || x >= width) return TilePalette.AIR_ID;
+        Chunk c = getChunk(x >> CHUNK_SHIFT, y >> CHUNK_SHIFT);
+        return c == null ? TilePalette.AIR_ID : c.getVariant(x & CHUNK_MASK, y & CHUNK_MASK);
+    }
+
+    /**
+     * Recomputes the autotile variant of every allocated tile in the inclusive
+     * rectangle [x0..x1] x [y0..y1], clamped to the map.
+     */
+    private void updateAutotile(int x0, int y0, int x1, int y1) {
+        x0 = Math.max(0, x0);          y0 = Math.max(0, y0);
+        x1 = Math.min(width - 1, x1);  y1 = Math.min(height - 1, y1);
+        for (int y = y0; y <= y1; y++) {
+            for (int x = x0; x <= x1; x++) {
+                Chunk c = getChunk(x >> CHUNK_SHIFT, y >> CHUNK_SHIFT);
+                if (c == null) {
+                    // whole chunk is AIR; skip to the next chunk column
+                    x |= CHUNK_MASK;
+                    continue;
+                }
+                c.setVariant(x & CHUNK_MASK, y & CHUNK_MASK, autotile(x, y));
+            }
+        }
+    }
+
+    /**
+     * Picks the grass-edge variant for DIRT and GRASS_TOP tiles from their
+     * air neighbours; every other tile draws as itself.
+     */
+    private int autotile(int x, int y) {
+        int id = getTileId(x, y);
+        TileType t = palette.typeOf(id);
+        if (t != TileType.DIRT && t != TileType.GRASS_TOP) return id;
+
+        int mask = neighbourMask(x, y);
+        if      ((mask & 2) != 0) t = TileType.GRASS_RIGHT;
+        else if ((mask & 8) != 0) t = TileType.GRASS_LEFT;
+        else if ((mask & 1) != 0) t = TileType.GRASS_TOP;
+        else if ((mask & 4) != 0) t = TileType.GRASS_BOTTOM;
+        else                      t = TileType.DIRT;
+        return palette.idOf(t);
+    }
+
+    /**
+     * Computes a 4-bit mask indicating which of the four cardinal neighbors of (x,y)
+     * are AIR.  Bits: 1=N, 2=E, 4=S, 8=W.
+     *
+     * @param x tile X coordinate
+     * @param y tile Y coordinate
+     * @return bitmask of empty (AIR) neighbors
+     */
+    private int neighbourMask(int x, int y) {
+        int m = 0;
+        if (y > 0           && getTileId(x, y-1) == TilePalette.AIR_ID) m |= 1; // North
+        if (x < width-1     && getTileId(x+1, y) == TilePalette.AIR_ID) m |= 2; // East
+//        if (y < height-1  && getTileId(x, y+1) == TilePalette.AIR_ID) m |= 4; // South
+        if (x > 0           && getTileId(x-1, y) == TilePalette.AIR_ID) m |= 8; // West
+        return m;
+    }
+
+    /**
+     * Notifies listeners that the tiles in the inclusive rectangle
+     * [x0..x1] x [y0..y1] changed, relights it and then reports the tiles
+     * whose light changed.
+     */
+    private void refresh(int x0, int y0, int x1, int y1) {
+        fireTilesChanged(x0, y0, x1 - x0 + 1, y1 - y0 + 1);
+        if (light.update(x0, y0, x1, y1)) {
+            int lx0 = light.getChangedMinX(), ly0 = light.getChangedMinY();
+            int lw = light.getChangedMaxX() - lx0 + 1, lh = light.getChangedMaxY() - ly0 + 1;
+            for (int i = 0; i < listeners.size(); i++) {
+                listeners.get(i).lightChanged(this, lx0, ly0, lw, lh);
+            }
+        }
+    }
+
+    private void fireTilesChanged(int x, int y, int w, int h) {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).tilesChanged(this, x, y, w, h);
+        }
     }
 
     /**
@@ -55,12 +531,37 @@ public class World {
      * @param y tile Y coordinate
      */
     public void mineTile(int x, int y) {
+        mineTile(x, y, null);
+    }
+
+    /**
+     * Mines the tile at (x,y) like {@link #mineTile(int, int)} and records
+     * every tile broken, e.g. a whole felled tree, in {@code drops}.
+     *
+     * @param x     tile X coordinate
+     * @param y     tile Y coordinate
+     * @param drops batch to add the broken tiles to, or {@code null}
+     */
+    public void mineTile(int x, int y, TileDrops drops) {
+        beginBatch();
+        try {
+            mineTileInBatch(x, y, drops);
+        } finally {
+            endBatch();
+        }
+    }
+
+    /**
+     * Body of {@link #mineTile(int, int, TileDrops)}; runs inside a batch so a
+     * felled tree is reported to listeners as one region.
+     */
+    private void mineTileInBatch(int x, int y, TileDrops drops) {
         TileType t = getTile(x, y);
         // if not a tree, just clear
         if (t != TileType.TREE_MAIN &&
                 t != TileType.TREE_TRUNK &&
                 t != TileType.TREE_LEAVES) {
-            setTile(x, y, TileType.AIR);
+            breakTile(x, y, t, drops);
             return;
         }
 
@@ -71,7 +572,7 @@ public class World {
         }
         if (baseY >= height) {
             // no stump found, just clear this tile
-            setTile(x, y, TileType.AIR);
+            breakTile(x, y, t, drops);
             return;
         }
 
@@ -80,7 +581,7 @@ public class World {
         for (int dy = 1; dy <= trunkHeight; dy++) {
             int ty = baseY - dy;
             if (getTile(x, ty) == TileType.TREE_TRUNK) {
-                setTile(x, ty, TileType.AIR);
+                breakTile(x, ty, TileType.TREE_TRUNK, drops);
             }
         }
         // remove leaves in radius around top of trunk
@@ -89,7 +590,7 @@ public class World {
             for (int dy = -leafRadius; dy <= leafRadius; dy++) {
                 int tx = x + dx, ty = cy + dy;
                 if (getTile(tx, ty) == TileType.TREE_LEAVES) {
-                    setTile(tx, ty, TileType.AIR);
+                    breakTile(tx, ty, TileType.TREE_LEAVES, drops);
                 }
             }
         }
@@ -98,6 +599,13 @@ public class World {
         setTile(x, baseY, TileType.TREE_MAIN);
     }
 
+    /** Clears a tile of type {@code t} and records it in {@code drops}, if any. */
+    private void breakTile(int x, int y, TileType t, TileDrops drops) {
+        if (t.isAir()) return;
+        setTile(x, y, TileType.AIR);
+        if (drops != null) drops.add(t, x, y);
+    }
+
     /**
      * Places a tile of the given type at (x,y).
      *
@@ -124,9 +632,33 @@ public class World {
     public boolean isSolid(int x, int y) {
         if (y < 0 || y >= height) return true;
         if (x < 0 || x >= width) return false;
-        return tiles[y][x].isSolid();
+        return palette.isSolid(getTileId(x, y));
+    }
+
+    /**
+     * Returns whether the tile at (x,y) can be mined. Out of bounds is never breakable.
+     *
+     * @param x tile X coordinate
+     * @param y tile Y coordinate
+     * @return true if the tile at this position is breakable
+     */
+    public boolean isBreakable(int x, int y) {
+        return palette.isBreakable(getTileId(x, y));
     }
 
+    /** @return the palette translating this world's tile ids to TileType */
+    public TilePalette getPalette() { return palette; }
+
+    /**
+     * @param x tile X coordinate
+     * @param y tile Y coordinate
+     * @return light level at (x,y), 0 (dark) to {@link LightMap#MAX_LIGHT}
+     */
+    public int getLight(int x, int y) { return light.getLight(x, y); }
+
+    /** @return the sky and block light of every tile */
+    public LightMap getLightMap() { return light; }
+
     /** @return map width in tiles */
     public int getWidth()  { return width; }
     /** @return map height in tiles */
@@ -141,17 +673,8 @@ public class World {
      */
     public int getSurfaceY(int x) {
         for (int y = 0; y < height; y++) {
-            if (tiles[y][x] != TileType.AIR) return y;
+            if (getTileId(x, y) != TilePalette.AIR_ID) return y;
         }
         return height - 1;
     }
-
-    /**
-     * Returns the raw 2D tile array for iteration or export.
-     *
-     * @return the tiles[y][x] array
-     */
-    public TileType[][] getTiles() {
-        return tiles;
-    }
 }
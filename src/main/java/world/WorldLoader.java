@@ -1,6 +1,9 @@
 package world;
 
-import util.ResourceLoader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 /**
@@ -9,6 +12,15 @@ import java.util.*;
  * Parses map layout from text-based level files and constructs
  * {@link Level} instances including tile data, item spawns, and NPC spawns.
  * </p>
+ * <p>
+ * Text maps are streamed byte by byte: map characters are collected one
+ * band of {@link World#CHUNK_SIZE} rows at a time, translated to palette ids
+ * in place through a 256-entry table and copied into chunk storage as soon
+ * as the band is complete. The buffer never holds more than one band, and no
+ * object is created per row or per tile, so load time grows linearly with
+ * the file size and memory with the chunks actually filled. Map files are
+ * expected to be ASCII.
+ * </p>
  */
 public class WorldLoader {
 
@@ -25,6 +37,10 @@ public class WorldLoader {
      *   <li>Parses subsequent lines: "ITEM id x y" for items, "NPC id x y" for NPCs.</li>
      *   <li>Returns a {@link Level} containing the tile map and spawn lists.</li>
      * </ol>
+     * <p>
+     * Paths ending in {@value BinaryLevelFormat#EXTENSION} are loaded with
+     * {@link BinaryLevelFormat#loadResource(String)} instead.
+     * </p>
      *
      * @param resourcePath path to the level file in classpath (e.g., "/map1.txt")
      * @param registry     the TileRegistry used to convert characters to {@link TileType}
@@ -32,52 +48,199 @@ public class WorldLoader {
      * @throws RuntimeException if the level file is empty or cannot be read
      */
     public static Level loadLevel(String resourcePath, TileRegistry registry) {
-        List<String> lines = ResourceLoader.readResourceLines(resourcePath);
-        if (lines.isEmpty()) {
-            throw new RuntimeException("Level file is empty: " + resourcePath);
+        if (resourcePath.endsWith(BinaryLevelFormat.EXTENSION)) {
+            return BinaryLevelFormat.loadResource(resourcePath);
+        }
+        String actualPath = resourcePath.startsWith("/") ? resourcePath : "/" + resourcePath;
+        try (InputStream in = WorldLoader.class.getResourceAsStream(actualPath)) {
+            if (in == null) {
+                throw new RuntimeException("Resource not found: " + actualPath);
+            }
+            return parse(in, registry, actualPath);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load resource " + actualPath, e);
+        }
+    }
+
+    /**
+     * Parses a text map from a stream. The stream is read to the end but not closed.
+     *
+     * @param in       the map text
+     * @param registry the TileRegistry used to convert characters to {@link TileType}
+     * @param name     name of the source, used in error messages
+     * @return the parsed level, with no dirty chunks
+     * @throws IOException      if reading the stream fails
+     * @throws RuntimeException if the map is empty or a spawn line is malformed
+     */
+    public static Level parse(InputStream in, TileRegistry registry, String name) throws IOException {
+        Parser p = new Parser(registry, name);
+        byte[] buf = new byte[8192];
+        int n;
+        while ((n = in.read(buf)) >= 0) {
+            p.feed(buf, n);
         }
+        return p.finish();
+    }
+
+    /**
+     * Line-splitting state machine. Grid characters of the current band
+     * accumulate at the front of {@link #data} and are flushed into the world
+     * once the band is full; each later line is parsed in place behind them
+     * and then dropped again.
+     */
+    private static final class Parser {
+        private final TileRegistry registry;
+        private final String name;
+        private final TilePalette palette = new TilePalette();
+        /** Palette id per map character, or -1 until first seen. */
+        private final int[] idOfChar = new int[256];
+        /** Created with zero height once the first line fixes the width. */
+        private World world;
+        private byte[] data = new byte[16 * 1024];
+        /** Bytes used in {@link #data}. */
+        private int len = 0;
+        /** Start of the current line in {@link #data}. */
+        private int lineStart = 0;
+        private int lineNo = 0;
+        private boolean afterCR = false;
+        private boolean inGrid = true;
+        private int width = -1;
+        /** Grid rows in {@link #data} not yet flushed into {@link #world}. */
+        private int bandRows = 0;
+
+        private final List<Level.ItemSpawn> itemSpawns = new ArrayList<>();
+        private final List<Level.NPCSpawn>  npcSpawns  = new ArrayList<>();
+
+        /** Read cursor used while parsing a spawn line. */
+        private int pos, end;
 
-        // 1) Determine map dimensions
-        int width  = lines.get(0).length();
-        int height = 0;
-        while (height < lines.size() && lines.get(height).length() == width) {
-            height++;
+        Parser(TileRegistry registry, String name) {
+            this.registry = registry;
+            this.name = name;
+            Arrays.fill(idOfChar, -1);
         }
 
-        // 2) Populate tile array
-        TileType[][] tiles = new TileType[height][width];
-        for (int y = 0; y < height; y++) {
-            String row = lines.get(y);
-            for (int x = 0; x < width; x++) {
-                tiles[y][x] = registry.fromChar(row.charAt(x));
+        void feed(byte[] buf, int n) {
+            for (int i = 0; i < n; i++) {
+                byte b = buf[i];
+                if (b == '\n') {
+                    if (!afterCR) endLine();
+                    afterCR = false;
+                } else if (b == '\r') {
+                    endLine();
+                    afterCR = true;
+                } else {
+                    afterCR = false;
+                    if (len == data.length) data = Arrays.copyOf(data, len * 2);
+                    data[len++] = b;
+                }
             }
         }
 
-        // 3) Parse item and NPC spawn lines
-        List<Level.ItemSpawn> itemSpawns = new ArrayList<>();
-        List<Level.NPCSpawn>  npcSpawns  = new ArrayList<>();
-
-        for (int i = height; i < lines.size(); i++) {
-            String[] parts = lines.get(i).trim().split("\\s+");
-            if (parts[0].equals("ITEM")) {
-                ItemType t = ItemType.fromId(parts[1]);
-                if (t != null) {
-                    itemSpawns.add(new Level.ItemSpawn(
-                            t,
-                            Integer.parseInt(parts[2]),
-                            Integer.parseInt(parts[3])
-                    ));
+        Level finish() {
+            if (len > lineStart) endLine();
+            if (width < 0) {
+                throw new RuntimeException("Level file is empty: " + name);
+            }
+            flushBand();
+            world.endBatch();
+            // a fresh load has no unsaved edits
+            world.clearDirty();
+            return new Level(world, itemSpawns, npcSpawns);
+        }
+
+        /** Translates the buffered rows to palette ids in place and appends them to the world. */
+        private void flushBand() {
+            if (bandRows == 0) return;
+            int tiles = bandRows * width;
+            for (int i = 0; i < tiles; i++) {
+                int c = data[i] & 0xFF;
+                int id = idOfChar[c];
+                if (id < 0) id = idOfChar[c] = palette.idOf(registry.fromChar((char) c));
+                data[i] = (byte) id;
+            }
+            world.loadRows(ByteBuffer.wrap(data, 0, tiles), 0, bandRows);
+            // keep any partial line behind the band
+            System.arraycopy(data, tiles, data, 0, len - tiles);
+            len -= tiles;
+            lineStart -= tiles;
+            bandRows = 0;
+        }
+
+        private void endLine() {
+            lineNo++;
+            int lineLen = len - lineStart;
+            if (inGrid) {
+                if (width < 0) {
+                    width = lineLen;
+                    world = new World(width, 0, palette);
+                    // one batch for the whole load, so autotiling sees every band
+                    world.beginBatch();
                 }
-            } else if (parts[0].equals("NPC")) {
-                npcSpawns.add(new Level.NPCSpawn(
-                        parts[1],
-                        Integer.parseInt(parts[2]),
-                        Integer.parseInt(parts[3])
-                ));
+                if (lineLen == width) {
+                    lineStart = len;
+                    if (++bandRows == World.CHUNK_SIZE) flushBand();
+                    return;
+                }
+                inGrid = false;
+            }
+            parseSpawn(lineStart, len);
+            len = lineStart;
+        }
+
+        /** Parses "ITEM id x y" or "NPC id x y"; other lines are ignored. */
+        private void parseSpawn(int from, int to) {
+            pos = from;
+            end = to;
+            int tagStart = nextToken();
+            boolean item = matches(tagStart, "ITEM");
+            if (!item && !matches(tagStart, "NPC")) return;
+
+            int idStart = nextToken();
+            if (idStart == pos) throw malformed();
+            String id = new String(data, idStart, pos - idStart, StandardCharsets.US_ASCII);
+            int x = nextInt();
+            int y = nextInt();
+            if (item) {
+                ItemType t = ItemType.fromId(id);
+                if (t != null) itemSpawns.add(new Level.ItemSpawn(t, x, y));
+            } else {
+                npcSpawns.add(new Level.NPCSpawn(id, x, y));
             }
         }
 
-        // 4) Return the populated Level
-        return new Level(tiles, itemSpawns, npcSpawns);
+        /** Skips blanks, then advances {@link #pos} past one token; returns its start. */
+        private int nextToken() {
+            while (pos < end && (data[pos] == ' ' || data[pos] == '\t')) pos++;
+            int start = pos;
+            while (pos < end && data[pos] != ' ' && data[pos] != '\t') pos++;
+            return start;
+        }
+
+        private boolean matches(int start, String word) {
+            if (pos - start != word.length()) return false;
+            for (int i = 0; i < word.length(); i++) {
+                if (data[start + i] != word.charAt(i)) return false;
+            }
+            return true;
+        }
+
+        private int nextInt() {
+            int i = nextToken();
+            if (i == pos) throw malformed();
+            boolean neg = data[i] == '-';
+            if (neg && ++i == pos) throw malformed();
+            int v = 0;
+            for (; i < pos; i++) {
+                int d = data[i] - '0';
+                if (d < 0 || d > 9) throw malformed();
+                v = v * 10 + d;
+            }
+            return neg ? -v : v;
+        }
+
+        private RuntimeException malformed() {
+            return new RuntimeException("Malformed spawn line " + lineNo + " in " + name);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,82 @@
+package tests;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import world.BinaryLevelFormat;
+import world.Level;
+import world.TileRegistry;
+import world.TileType;
+import world.World;
+import world.WorldLoader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BinaryLevelFormatTest {
+
+    @Test
+    void testConvertedMapMatchesTextMap(@TempDir Path dir) {
+        TileRegistry registry = TileRegistry.getShared();
+        Path file = dir.resolve("map1" + BinaryLevelFormat.EXTENSION);
+        BinaryLevelFormat.convert("/map1.txt", file, registry);
+
+        Level text = WorldLoader.loadLevel("/map1.txt", registry);
+        Level binary = BinaryLevelFormat.read(file);
+
+        World a = text.getWorld(), b = binary.getWorld();
+        assertEquals(a.getWidth(), b.getWidth());
+        assertEquals(a.getHeight(), b.getHeight());
+        for (int y = 0; y < a.getHeight(); y++) {
+            for (int x = 0; x < a.getWidth(); x++) {
+                assertEquals(a.getTile(x, y), b.getTile(x, y), "tile " + x + "," + y);
+                assertEquals(a.getPalette().typeOf(a.getVariantId(x, y)),
+                             b.getPalette().typeOf(b.getVariantId(x, y)), "variant " + x + "," + y);
+            }
+        }
+        assertEquals(a.getChunks().size(), b.getChunks().size(), "Air-only chunks stay unallocated");
+        assertTrue(b.getDirtyChunks().isEmpty());
+        assertEquals(text.getItemSpawns().size(), binary.getItemSpawns().size());
+        assertEquals(text.getNpcSpawns().size(), binary.getNpcSpawns().size());
+    }
+
+    /** Writes a level file with the given header and tile ids, one palette entry (STONE) and no spawns. */
+    private static Path level(Path file, int width, int height, byte... tiles) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0x544D4150);
+        out.writeInt(1);
+        out.writeInt(width);
+        out.writeInt(height);
+        out.writeInt(2);
+        out.writeByte(5);
+        out.writeBytes("STONE");
+        out.write(tiles);
+        out.writeInt(0);
+        out.writeInt(0);
+        Files.write(file, bytes.toByteArray());
+        return file;
+    }
+
+    @Test
+    void testMalformedLevelsAreRejected(@TempDir Path dir) throws IOException {
+        Path good = level(dir.resolve("good.tmap"), 2, 1, (byte) 0, (byte) 1);
+        assertEquals(TileType.STONE, BinaryLevelFormat.read(good).getWorld().getTile(1, 0));
+
+        Path[] bad = {
+                level(dir.resolve("empty.tmap"), 0, 4),
+                level(dir.resolve("negative.tmap"), 3, -1),
+                // 65536 * 65536 overflows an int to 0 tiles
+                level(dir.resolve("overflow.tmap"), 65536, 65536),
+                level(dir.resolve("badid.tmap"), 2, 1, (byte) 0, (byte) 2),
+        };
+        for (Path file : bad) {
+            RuntimeException e = assertThrows(RuntimeException.class, () -> BinaryLevelFormat.read(file));
+            assertTrue(e.getMessage().startsWith("Malformed level"), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package tests;
+
+import org.junit.jupiter.api.Test;
+import world.ChunkStreamer;
+import world.ChunkedTerrainGenerator;
+import world.TileType;
+import world.World;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChunkStreamerTest {
+
+    private static final int HEIGHT = 4 * World.CHUNK_SIZE;
+
+    @Test
+    void testGeneratesTouchedChunksOnly() {
+        ChunkedTerrainGenerator gen = new ChunkedTerrainGenerator(3L, HEIGHT);
+        World world = new World(ChunkStreamer.INFINITE_WIDTH, HEIGHT);
+        ChunkStreamer streamer = new ChunkStreamer(world, gen, 2);
+
+        int x = ChunkStreamer.INFINITE_WIDTH / 2;
+        int s = gen.surfaceY(x);
+        assertEquals(TileType.AIR, world.getTile(x, s), "Nothing exists before it is touched");
+
+        streamer.ensureLoaded(x, 0, x, HEIGHT - 1);
+        assertEquals(4, streamer.getLoadedCount(), "One column of chunks");
+        TileType top = world.getTile(x, s);
+        assertTrue(top == TileType.GRASS_TOP || top == TileType.TREE_MAIN);
+        assertEquals(TileType.AIR, world.getTile(x + World.CHUNK_SIZE, 0));
+    }
+
+    @Test
+    void testMemoryStaysBoundedAndEditsSurviveUnload() {
+        ChunkedTerrainGenerator gen = new ChunkedTerrainGenerator(5L, HEIGHT);
+        World world = new World(ChunkStreamer.INFINITE_WIDTH, HEIGHT);
+        ChunkStreamer streamer = new ChunkStreamer(world, gen, 2);
+
+        int start = ChunkStreamer.INFINITE_WIDTH / 2;
+        int deep = HEIGHT - 2;
+        streamer.ensureLoaded(start, 0, start, HEIGHT - 1);
+        world.setTile(start, deep, TileType.TREE_LEAVES);
+        int untouched = start + 3;
+        TileType original = world.getTile(untouched, deep);
+
+        // walk far to the right, one chunk at a time
+        for (int x = start; x < start + 40 * World.CHUNK_SIZE; x += World.CHUNK_SIZE) {
+            streamer.ensureLoaded(x - 40, 0, x + 40, HEIGHT - 1);
+            streamer.unloadFar(x, HEIGHT / 2);
+            assertTrue(world.getChunks().size() <= 5 * 4, "Only chunks near the player stay loaded");
+        }
+        assertEquals(TileType.AIR, world.getTile(start, deep), "Start chunk was unloaded");
+
+        // and back again
+        streamer.ensureLoaded(start, 0, start + 3, HEIGHT - 1);
+        assertEquals(TileType.TREE_LEAVES, world.getTile(start, deep), "Edit restored from spill");
+        assertEquals(original, world.getTile(untouched, deep), "Untouched tiles regenerated");
+    }
+}
@@ -0,0 +1,74 @@
+package tests;
+
+import org.junit.jupiter.api.Test;
+import world.ChunkedTerrainGenerator;
+import world.TileType;
+import world.World;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChunkedTerrainGeneratorTest {
+
+    private static void assertSameTiles(World a, World b) {
+        assertEquals(a.getWidth(), b.getWidth());
+        assertEquals(a.getHeight(), b.getHeight());
+        for (int y = 0; y < a.getHeight(); y++) {
+            for (int x = 0; x < a.getWidth(); x++) {
+                assertEquals(a.getTile(x, y), b.getTile(x, y), "tile " + x + "," + y);
+            }
+        }
+    }
+
+    @Test
+    void testSameWorldForAnyThreadCount() {
+        ChunkedTerrainGenerator gen = new ChunkedTerrainGenerator(42L, 100);
+        ForkJoinPool one = new ForkJoinPool(1), four = new ForkJoinPool(4);
+        try {
+            assertSameTiles(gen.generate(300, one), gen.generate(300, four));
+        } finally {
+            one.shutdown();
+            four.shutdown();
+        }
+    }
+
+    @Test
+    void testChunksDoNotDependOnNeighbours() {
+        ChunkedTerrainGenerator gen = new ChunkedTerrainGenerator(7L, 100);
+        World world = gen.generate(160, ForkJoinPool.commonPool());
+
+        // generating a single chunk on its own gives the same tiles, trees included
+        TileType[] chunk = new TileType[World.CHUNK_SIZE * World.CHUNK_SIZE];
+        for (int cx = 0; cx < 5; cx++) {
+            for (int cy = 0; cy < 4; cy++) {
+                gen.generateChunk(cx, cy, chunk);
+                for (int ly = 0; ly < World.CHUNK_SIZE; ly++) {
+                    int y = cy * World.CHUNK_SIZE + ly;
+                    if (y >= 100) break;
+                    for (int lx = 0; lx < World.CHUNK_SIZE; lx++) {
+                        int x = cx * World.CHUNK_SIZE + lx;
+                        assertEquals(world.getTile(x, y), chunk[ly * World.CHUNK_SIZE + lx]);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testTerrainShape() {
+        ChunkedTerrainGenerator gen = new ChunkedTerrainGenerator(1L, 100);
+        World world = gen.generate(200, ForkJoinPool.commonPool());
+        for (int x = 0; x < 200; x++) {
+            int s = gen.surfaceY(x);
+            assertTrue(s >= 25 && s <= 75, "Surface stays in the middle half");
+            TileType top = world.getTile(x, s);
+            assertTrue(top == TileType.GRASS_TOP || top == TileType.TREE_MAIN,
+                    "Column " + x + " starts with grass or a tree stump");
+        }
+        ChunkedTerrainGenerator other = new ChunkedTerrainGenerator(2L, 100);
+        boolean differs = false;
+        for (int x = 0; x < 200 && !differs; x++) differs = other.surfaceY(x) != gen.surfaceY(x);
+        assertTrue(differs, "Different seeds give different terrain");
+    }
+}
@@ -0,0 +1,157 @@
+// src/test/java/tests/EntityStoreTest.java
+package tests;
+
+import entity.EntityStore;
+import entity.EntitySystems;
+import entity.Player;
+import util.Inventory;
+import world.ItemType;
+import world.World;
+import world.TileType;
+import util.TileConstants;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EntityStoreTest {
+    private static final int TS = TileConstants.TILE_SIZE;
+
+    private static int addItem(EntityStore store, ItemType type, double x, double y) {
+        return store.add(type.ordinal(), x, y, TS, TS);
+    }
+
+    @Test
+    void testPickupWhenColliding() {
+        Inventory inv = new Inventory();
+        EntityStore store = new EntityStore();
+        addItem(store, ItemType.BATON, 10, 10);
+
+        Player player = new Player(10, 10);
+
+        assertEquals(0, inv.getItems().getOrDefault("baton", 0));
+
+        int picked = EntitySystems.pickup(store, player, inv);
+
+        assertEquals(1, picked, "pickup() should report the item when picked up");
+        assertEquals(1, inv.getItems().get("baton"),
+                "Inventory should contain one 'baton' after pickup");
+        assertEquals(0, store.size(), "Picked-up items are removed");
+    }
+
+    @Test
+    void testNoPickupWhenFar() {
+        Inventory inv = new Inventory();
+        EntityStore store = new EntityStore();
+        addItem(store, ItemType.BATON, 100, 100);
+
+        // player is far from the item
+        Player player = new Player(0, 0);
+
+        int picked = EntitySystems.pickup(store, player, inv);
+
+        assertEquals(0, picked, "pickup() should find nothing when too far");
+        assertFalse(inv.getItems().containsKey("baton"),
+                "Inventory should still not contain the baton");
+    }
+
+    @Test
+    void testItemFallsAndLands() {
+        // 4x10 air with a stone floor in row 8
+        TileType[][] tiles = new TileType[10][4];
+        for (TileType[] row : tiles) java.util.Arrays.fill(row, TileType.AIR);
+        java.util.Arrays.fill(tiles[8], TileType.STONE);
+        World world = new World(tiles);
+
+        EntityStore store = new EntityStore();
+        int i = addItem(store, ItemType.BANANA, TS, 0);
+        for (int t = 0; t < 240; t++) {
+            EntitySystems.physics(store, world, 1.0 / 120, -1e9, -1e9, 1e9, 1e9);
+        }
+        assertTrue(store.isOnGround(i));
+        assertEquals(7 * TS, store.getY(i), 1e-9, "Rests on top of the floor");
+    }
+
+    @Test
+    void testRenderPositionIsInterpolated() {
+        TileType[][] tiles = new TileType[10][4];
+        for (TileType[] row : tiles) java.util.Arrays.fill(row, TileType.AIR);
+        World world = new World(tiles);
+
+        EntityStore store = new EntityStore();
+        int i = addItem(store, ItemType.STONE, TS, 0);
+        assertEquals(0, store.getRenderY(i, 0.5), "A new entity is drawn where it was added");
+
+        store.setVelocity(i, 60, 120);
+        EntitySystems.physics(store, world, 0.5, -1e9, -1e9, 1e9, 1e9);
+        double prevY = 0, y = store.getY(i);
+        assertTrue(y > prevY);
+        assertEquals(prevY, store.getRenderY(i, 0), 1e-9);
+        assertEquals((prevY + y) / 2, store.getRenderY(i, 0.5), 1e-9);
+        assertEquals(y, store.getRenderY(i, 1), 1e-9);
+        assertEquals(TS + 15, store.getRenderX(i, 0.5), 1e-9);
+    }
+
+    @Test
+    void testSwapRemove() {
+        EntityStore store = new EntityStore();
+        for (int i = 0; i < 5; i++) {
+            store.add(i, i, 0, TS, TS);
+        }
+        store.remove(1);
+        assertEquals(4, store.size());
+        assertEquals(4, store.getSprite(1), "The last entity fills the freed slot");
+        assertEquals(4, store.getX(1));
+        store.remove(3);
+        assertEquals(3, store.size(), "Removing the last entity just shrinks the store");
+        assertEquals(java.util.List.of(0, 4, 2),
+                java.util.List.of(store.getSprite(0), store.getSprite(1), store.getSprite(2)));
+    }
+
+    @Test
+    void testSlotsAreReusedWithoutGrowing() {
+        EntityStore store = new EntityStore(256);
+        for (int round = 0; round < 100; round++) {
+            while (store.size() < 200) {
+                store.add(round, round, 0, TS, TS);
+            }
+            for (int i = store.size() - 1; i >= 0; i -= 3) {
+                store.remove(i);
+            }
+        }
+        assertEquals(256, store.getCapacity(), "Churn within capacity never reallocates");
+        store.clear();
+        assertEquals(0, store.size());
+        assertEquals(256, store.getCapacity());
+    }
+
+    @Test
+    void testGridQueryMatchesFullScan() {
+        TileType[][] tiles = new TileType[40][200];
+        for (TileType[] row : tiles) java.util.Arrays.fill(row, TileType.AIR);
+        java.util.Arrays.fill(tiles[39], TileType.STONE);
+        World world = new World(tiles);
+        java.util.Random rnd = new java.util.Random(5);
+
+        EntityStore store = new EntityStore(8);
+        for (int round = 0; round < 50; round++) {
+            for (int k = 0; k < 40; k++) {
+                int i = store.add(0, rnd.nextDouble() * 190 * TS, rnd.nextDouble() * 30 * TS, TS, TS);
+                store.setVelocity(i, rnd.nextDouble() * 400 - 200, rnd.nextDouble() * -300);
+            }
+            for (int t = 0; t < 10; t++) {
+                EntitySystems.physics(store, world, 1.0 / 30, 0, 0, 100 * TS, 40 * TS);
+            }
+            for (int i = store.size() - 1; i >= 0; i -= 4) store.remove(i);
+
+            double x0 = rnd.nextDouble() * 150 * TS, y0 = rnd.nextDouble() * 30 * TS;
+            double x1 = x0 + rnd.nextDouble() * 30 * TS, y1 = y0 + rnd.nextDouble() * 10 * TS;
+            java.util.Set<Integer> expected = new java.util.HashSet<>(), found = new java.util.HashSet<>();
+            for (int i = 0; i < store.size(); i++) {
+                if (store.getX(i) < x1 && store.getX(i) + TS > x0 && store.getY(i) < y1 && store.getY(i) + TS > y0) {
+                    expected.add(i);
+                }
+            }
+            for (int k = 0, n = store.query(x0, y0, x1, y1); k < n; k++) found.add(store.getHit(k));
+            assertEquals(expected, found, "round " + round);
+        }
+    }
+}
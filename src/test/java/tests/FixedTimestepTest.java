@@ -0,0 +1,38 @@
+package tests;
+
+import engine.core.FixedTimestep;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FixedTimestepTest {
+
+    @Test
+    void testStepsDoNotDependOnFrameRate() {
+        FixedTimestep at60 = new FixedTimestep(120, 8), at144 = new FixedTimestep(120, 8);
+        int steps60 = 0, steps144 = 0;
+        for (int i = 0; i < 60; i++) steps60 += at60.advance(1.0 / 60);
+        for (int i = 0; i < 144; i++) steps144 += at144.advance(1.0 / 144);
+        assertEquals(120, steps60, 1);
+        assertEquals(120, steps144, 1);
+        assertEquals(1.0 / 120, at60.getStep(), 1e-12);
+    }
+
+    @Test
+    void testRemainderBecomesAlpha() {
+        FixedTimestep ts = new FixedTimestep(100, 8);
+        assertEquals(0, ts.advance(0.005));
+        assertEquals(0.5, ts.getAlpha(), 1e-9);
+        assertEquals(1, ts.advance(0.0075));
+        assertEquals(0.25, ts.getAlpha(), 1e-9);
+    }
+
+    @Test
+    void testHitchIsCappedAndBacklogDropped() {
+        FixedTimestep ts = new FixedTimestep(120, 8);
+        assertEquals(8, ts.advance(2.0), "A two-second hitch runs at most maxSteps");
+        assertEquals(0.0, ts.getAlpha(), 1e-9);
+        assertEquals(1, ts.advance(1.0 / 120 + 1e-9), "Next frame is back to normal");
+        assertEquals(0, ts.advance(-1), "Negative frame times are ignored");
+    }
+}
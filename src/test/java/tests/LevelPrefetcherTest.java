@@ -0,0 +1,160 @@
+package tests;
+
+import engine.core.HeadlessRunner;
+import engine.level.LevelManager;
+import engine.level.LevelPrefetcher;
+import entity.Player;
+import org.junit.jupiter.api.Test;
+import util.TileConstants;
+import world.Level;
+import world.TileRegistry;
+import world.World;
+import world.WorldLoader;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LevelPrefetcherTest {
+    private static final int DISTANCE = 10;
+
+    /** Level index → stub level whose width is 10 + index, so results can be told apart. */
+    private static Level stub(int index) {
+        return new Level(new World(10 + index, 8), List.of(), List.of());
+    }
+
+    /** Loader counting its calls per level and blocking until {@code release} opens. */
+    private static IntFunction<Level> blockingLoader(AtomicIntegerArray calls, CountDownLatch release) {
+        return index -> {
+            calls.incrementAndGet(index);
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return stub(index);
+        };
+    }
+
+    @Test
+    void testNeighbourIsRequestedNearAnEdge() {
+        LevelPrefetcher p = new LevelPrefetcher(3, LevelPrefetcherTest::stub, i -> false, DISTANCE, Long.MAX_VALUE);
+        World world = new World(100, 8);
+
+        p.update(1, 50, world);
+        assertNull(p.take(0), "Nothing is loaded in the middle of the map");
+        assertNull(p.take(2));
+
+        p.update(1, 99 - DISTANCE, world);
+        assertNull(p.take(2), "Not yet within the distance");
+        p.update(1, 99 - DISTANCE + 1, world);
+        assertEquals(12, p.take(2).getWorld().getWidth());
+
+        p.update(1, DISTANCE - 1, world);
+        assertEquals(10, p.take(0).getWorld().getWidth());
+
+        p.update(2, 99, world);
+        assertNull(p.take(3), "There is no level past the last one");
+    }
+
+    @Test
+    void testRequestIsDroppedAtTwiceTheDistance() {
+        AtomicIntegerArray calls = new AtomicIntegerArray(3);
+        CountDownLatch release = new CountDownLatch(1);
+        LevelPrefetcher p = new LevelPrefetcher(3, blockingLoader(calls, release), i -> false,
+                                                DISTANCE, Long.MAX_VALUE);
+        World world = new World(100, 8);
+
+        p.update(1, 95, world);
+        p.update(1, 99 - 2 * DISTANCE, world);
+        release.countDown();
+        assertNotNull(p.take(2), "Kept up to twice the distance");
+
+        p.update(1, 95, world);
+        p.update(1, 99 - 2 * DISTANCE - 1, world);
+        assertNull(p.take(2), "Dropped beyond twice the distance");
+    }
+
+    @Test
+    void testLevelsOverTheTileBudgetAreDiscarded() throws InterruptedException {
+        CountDownLatch secondStarted = new CountDownLatch(1), release = new CountDownLatch(1);
+        AtomicIntegerArray calls = new AtomicIntegerArray(3);
+        IntFunction<Level> loader = index -> {
+            calls.incrementAndGet(index);
+            if (index == 0) {
+                // one column more than the default budget allows
+                return new Level(new World(2001, 2000), List.of(), List.of());
+            }
+            secondStarted.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return stub(index);
+        };
+        LevelPrefetcher p = new LevelPrefetcher(3, loader, i -> false);
+        assertEquals(4_000_000L, LevelPrefetcher.DEFAULT_MAX_PREFETCHED_TILES);
+        // narrow enough that the player is near both edges at once
+        World world = new World(20, 8);
+
+        p.update(1, 10, world);
+        // the single loader thread finishes level 0 before it starts level 2
+        assertTrue(secondStarted.await(5, TimeUnit.SECONDS));
+        p.update(1, 10, world);
+        p.update(1, 10, world);
+        release.countDown();
+
+        assertNull(p.take(0), "The oversized level is discarded");
+        assertEquals(1, calls.get(0), "and not requested again while the player stays");
+        assertEquals(12, p.take(2).getWorld().getWidth());
+    }
+
+    @Test
+    void testTakeWaitsForInFlightLoad() throws InterruptedException {
+        AtomicIntegerArray calls = new AtomicIntegerArray(3);
+        CountDownLatch release = new CountDownLatch(1);
+        LevelPrefetcher p = new LevelPrefetcher(3, blockingLoader(calls, release), i -> false,
+                                                DISTANCE, Long.MAX_VALUE);
+        p.update(1, 95, new World(100, 8));
+
+        Thread opener = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ignored) {
+            }
+            release.countDown();
+        });
+        opener.start();
+        Level lvl = p.take(2);
+        opener.join();
+        assertEquals(0, release.getCount(), "take() returned only after the load finished");
+        assertEquals(12, lvl.getWorld().getWidth());
+        assertEquals(1, calls.get(2));
+    }
+
+    @Test
+    void testLevelManagerWaitsForPrefetchedLevel() {
+        HeadlessRunner runner = new HeadlessRunner(List.of("/map1.txt", "/map2.txt"));
+        LevelManager lm = runner.getLevelManager();
+        lm.init();
+        Player player = runner.getPlayer();
+        int ts = TileConstants.TILE_SIZE;
+
+        // start the prefetch of map2 and switch to it while it may still be loading
+        player.setPosition((lm.getWorld().getWidth() - 2) * ts, player.getY());
+        lm.checkTransitions(player);
+        lm.loadLevel(1);
+
+        World expected = WorldLoader.loadLevel("/map2.txt", TileRegistry.getShared()).getWorld();
+        assertEquals(1, lm.getCurrentLevel());
+        assertEquals(expected.getWidth(), lm.getWorld().getWidth());
+        assertEquals(expected.getHeight(), lm.getWorld().getHeight());
+        assertEquals(expected.getTile(3, expected.getHeight() - 1),
+                     lm.getWorld().getTile(3, expected.getHeight() - 1));
+    }
+}
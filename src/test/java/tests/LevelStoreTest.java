@@ -0,0 +1,74 @@
+package tests;
+
+import engine.level.WorldCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import world.ItemType;
+import world.Level;
+import world.LevelStore;
+import world.TileType;
+import world.World;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LevelStoreTest {
+
+    private static Level sampleLevel() {
+        World world = new World(70, 40);
+        world.setTile(0, 0, TileType.STONE);
+        world.setTile(33, 20, TileType.DIRT);
+        world.setTile(69, 39, TileType.GRASS_TOP);
+        world.setTile(40, 10, TileType.TREE_TRUNK);
+        return new Level(world,
+                List.of(new Level.ItemSpawn(ItemType.BANANA, 5, 6)),
+                List.of(new Level.NPCSpawn("bro", 7, 8)));
+    }
+
+    @Test
+    void testRoundTripKeepsTilesAndSpawns(@TempDir Path dir) {
+        Level original = sampleLevel();
+        Path file = dir.resolve("level.bin");
+        LevelStore.write(original, file);
+        Level restored = LevelStore.read(file);
+
+        World a = original.getWorld(), b = restored.getWorld();
+        assertEquals(a.getWidth(), b.getWidth());
+        assertEquals(a.getHeight(), b.getHeight());
+        for (int y = 0; y < a.getHeight(); y++) {
+            for (int x = 0; x < a.getWidth(); x++) {
+                assertEquals(a.getTile(x, y), b.getTile(x, y), "tile " + x + "," + y);
+            }
+        }
+        assertEquals(a.getChunks().size(), b.getChunks().size(), "Only allocated chunks are stored");
+        assertTrue(b.getDirtyChunks().isEmpty());
+
+        assertEquals(ItemType.BANANA, restored.getItemSpawns().get(0).itemType);
+        assertEquals(6, restored.getItemSpawns().get(0).tileY);
+        assertEquals("bro", restored.getNpcSpawns().get(0).npcId);
+        assertEquals(7, restored.getNpcSpawns().get(0).tileX);
+    }
+
+    @Test
+    void testCacheSpillsOldestLevelAndKeepsEdits() {
+        Level first = sampleLevel();
+        long oneLevel = first.getWorld().estimateBytes();
+        WorldCache cache = new WorldCache(oneLevel);
+
+        first.getWorld().mineTile(33, 20);
+        cache.put(0, first);
+        cache.put(1, sampleLevel());
+
+        assertFalse(cache.isResident(0), "Over budget, the older level is spilled");
+        assertTrue(cache.isSpilled(0));
+        assertTrue(cache.isResident(1));
+
+        Level back = cache.take(0);
+        assertNotSame(first, back);
+        assertEquals(TileType.AIR, back.getWorld().getTile(33, 20), "Edits survive a spill");
+        assertEquals(TileType.STONE, back.getWorld().getTile(0, 0));
+        assertNull(cache.take(2));
+    }
+}
@@ -0,0 +1,148 @@
+package tests;
+
+import engine.render.WorldRenderer;
+import org.junit.jupiter.api.Test;
+import world.LightMap;
+import world.TileType;
+import world.World;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LightMapTest {
+    private static final int MAX = LightMap.MAX_LIGHT;
+
+    /** Air above row {@code ground}, stone from there down. */
+    private static TileType[][] ground(int w, int h, int ground) {
+        TileType[][] tiles = new TileType[h][w];
+        for (int y = 0; y < h; y++) {
+            Arrays.fill(tiles[y], y < ground ? TileType.AIR : TileType.STONE);
+        }
+        return tiles;
+    }
+
+    @Test
+    void testSkyLightFadesIntoTheGround() {
+        World world = new World(ground(16, 40, 10));
+        assertEquals(MAX, world.getLight(5, 9), "Open sky is fully lit");
+        assertEquals(MAX - LightMap.SOLID_COST, world.getLight(5, 10), "The surface is lit from above");
+        assertEquals(MAX - 2 * LightMap.SOLID_COST, world.getLight(5, 11));
+        assertEquals(0, world.getLight(5, 30), "Deep rock is dark");
+    }
+
+    @Test
+    void testSealedCaveIsDarkUntilOpened() {
+        TileType[][] tiles = ground(40, 40, 10);
+        for (int y = 25; y < 28; y++) {
+            for (int x = 18; x < 24; x++) tiles[y][x] = TileType.AIR;
+        }
+        World world = new World(tiles);
+        assertEquals(0, world.getLight(20, 26), "A carved cave renders dark");
+        for (int y = 25; y < 28; y++) {
+            for (int x = 18; x < 24; x++) {
+                assertEquals(1.0, WorldRenderer.getShadeOpacity(world, x, y), 1e-9,
+                        "Cave air is baked fully shaded at " + x + "," + y);
+            }
+        }
+
+        // dig a shaft from the surface into the cave: sky light falls straight in
+        for (int y = 10; y < 25; y++) world.setTile(20, y, TileType.AIR);
+        assertEquals(MAX, world.getLight(20, 26));
+        assertEquals(MAX - 1, world.getLight(21, 26), "and spreads sideways");
+
+        // seal it again
+        world.setTile(20, 10, TileType.STONE);
+        assertEquals(0, world.getLightMap().getSkyLight(20, 26));
+    }
+
+    @Test
+    void testOreGivesOffBlockLight() {
+        World world = new World(ground(20, 40, 5));
+        world.setTile(10, 30, TileType.AIR);
+        world.setTile(11, 30, TileType.AIR);
+        world.setTile(9, 30, TileType.IRON_ORE);
+        int glow = TileType.IRON_ORE.getLightEmission();
+        assertEquals(glow, world.getLightMap().getBlockLight(9, 30));
+        assertEquals(glow - 1, world.getLightMap().getBlockLight(10, 30));
+        assertEquals(glow - 2, world.getLightMap().getBlockLight(11, 30));
+
+        world.mineTile(9, 30);
+        assertEquals(0, world.getLightMap().getBlockLight(11, 30), "Mined ore no longer glows");
+    }
+
+    @Test
+    void testIncrementalUpdatesMatchFullRelight() {
+        Random rnd = new Random(3);
+        TileType[] palette = { TileType.AIR, TileType.STONE, TileType.DIRT, TileType.IRON_ORE, TileType.TREE_LEAVES };
+        World world = new World(ground(70, 70, 20));
+        for (int i = 0; i < 2000; i++) {
+            world.setTile(rnd.nextInt(70), rnd.nextInt(70), palette[rnd.nextInt(palette.length)]);
+        }
+
+        TileType[][] tiles = new TileType[70][70];
+        for (int y = 0; y < 70; y++) {
+            for (int x = 0; x < 70; x++) tiles[y][x] = world.getTile(x, y);
+        }
+        World fresh = new World(tiles);
+        for (int y = 0; y < 70; y++) {
+            for (int x = 0; x < 70; x++) {
+                assertEquals(fresh.getLightMap().getSkyLight(x, y), world.getLightMap().getSkyLight(x, y),
+                        "sky light at " + x + "," + y);
+                assertEquals(fresh.getLightMap().getBlockLight(x, y), world.getLightMap().getBlockLight(x, y),
+                        "block light at " + x + "," + y);
+            }
+        }
+    }
+
+    @Test
+    void testEditRelightsOnlyItsSurroundings() {
+        World world = new World(ground(2000, 64, 20));
+        int[] region = new int[4];
+        world.addChangeListener(new world.TileChangeListener() {
+            @Override
+            public void tilesChanged(World w, int x, int y, int width, int height) {}
+
+            @Override
+            public void lightChanged(World w, int x, int y, int width, int height) {
+                region[0] = x; region[1] = y; region[2] = width; region[3] = height;
+            }
+        });
+        world.setTile(1000, 30, TileType.IRON_ORE);
+        assertTrue(region[2] > 0, "The ore's light is reported");
+        assertTrue(region[0] >= 1000 - MAX && region[0] + region[2] <= 1000 + MAX + 1,
+                "Only tiles within the light radius are relit: " + Arrays.toString(region));
+    }
+
+    @Test
+    void testOpenSkyStoresNoLevels() {
+        // two chunks of sky above two chunks of rock
+        World world = new World(ground(32, 128, 64));
+        assertEquals(2, world.getLightMap().getChunkCount(), "Only the rock stores light levels");
+        assertEquals(2, world.getChunks().size());
+        assertEquals(2L * (2 * 32 * 32 + 96) + 2L * 32 * 32, world.estimateBytes(),
+                "The stored light levels count towards the world's size");
+
+        // an edit in the sky clears and refills open air; it must not stay allocated
+        world.setTile(5, 5, TileType.STONE);
+        world.setTile(5, 5, TileType.AIR);
+        assertEquals(2, world.getLightMap().getChunkCount());
+        assertEquals(MAX, world.getLight(5, 6));
+    }
+
+    @Test
+    void testMinedOutChunkUndergroundIsNotFullyLit() {
+        World world = new World(ground(96, 128, 40));
+        world.beginBatch();
+        for (int y = 64; y < 96; y++) {
+            for (int x = 32; x < 64; x++) world.setTile(x, y, TileType.AIR);
+        }
+        world.endBatch();
+
+        assertTrue(world.getChunk(1, 2) == null || world.getChunk(1, 2).isEmpty(), "The chunk is all air");
+        assertFalse(world.getLightMap().isFullyLit(1, 2), "but dark, so it must still be drawn");
+        assertEquals(1.0, WorldRenderer.getShadeOpacity(world, 48, 80), 1e-9);
+        assertTrue(world.getLightMap().isFullyLit(1, 0), "Open sky needs no drawing");
+    }
+}
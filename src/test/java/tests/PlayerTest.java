@@ -12,9 +12,7 @@ public class PlayerTest {
     private static World emptyWorld;
 
     @BeforeAll
-    static void initFXAndWorld() {
-        javafx.application.Platform.startup(() -> {});
-
+    static void initWorld() {
         TileType[][] tiles = new TileType[10][10];
         for (int y = 0; y < tiles.length; y++) {
             for (int x = 0; x < tiles[y].length; x++) {
@@ -40,4 +38,43 @@ public class PlayerTest {
         p.update(0.1, emptyWorld);
         assertTrue(p.getY() > 0, "After Gravity increase Y");
     }
+
+    /** @return an all-air world with the given tiles made stone */
+    private static World worldWith(int w, int h, int[]... stone) {
+        TileType[][] tiles = new TileType[h][w];
+        for (TileType[] row : tiles) java.util.Arrays.fill(row, TileType.AIR);
+        for (int[] t : stone) tiles[t[1]][t[0]] = TileType.STONE;
+        return new World(tiles);
+    }
+
+    @Test
+    void testLandsOnNarrowTileBetweenCorners() {
+        // the 34 px wide player spans columns 0..2; only the middle one is solid
+        World world = worldWith(10, 20, new int[]{1, 10});
+        Player p = new Player(0, 0);
+        for (int i = 0; i < 240; i++) p.update(1.0 / 120, world);
+        assertEquals(10 * 16 - Player.PLAYER_HEIGHT, p.getY(), 1e-9, "Rests exactly on the tile");
+    }
+
+    @Test
+    void testFastFallDoesNotTunnel() {
+        // one-tile floor and a step long enough to move several tiles at once
+        World world = worldWith(4, 40, new int[]{0, 20}, new int[]{1, 20}, new int[]{2, 20}, new int[]{3, 20});
+        Player p = new Player(0, 0);
+        for (int i = 0; i < 10; i++) p.update(0.2, world);
+        assertEquals(20 * 16 - Player.PLAYER_HEIGHT, p.getY(), 1e-9, "Stopped by the thin floor");
+    }
+
+    @Test
+    void testWalksFlushAgainstWall() {
+        World world = worldWith(20, 10, new int[]{8, 3}, new int[]{8, 9});
+        Player p = new Player(0, 2 * 16);
+        p.moveRight();
+        for (int i = 0; i < 120; i++) p.update(1.0 / 120, world);
+        assertEquals(8 * 16 - Player.PLAYER_WIDTH, p.getX(), 1e-9, "Touches the wall without entering it");
+        p.stopMovingRight();
+        p.moveLeft();
+        p.update(1.0 / 120, world);
+        assertTrue(p.getX() < 8 * 16 - Player.PLAYER_WIDTH, "Can walk away again");
+    }
 }
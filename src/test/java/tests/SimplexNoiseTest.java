@@ -0,0 +1,46 @@
+package tests;
+
+import org.junit.jupiter.api.Test;
+import util.SimplexNoise;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SimplexNoiseTest {
+
+    @Test
+    void testBatchMatchesSingleSamples() {
+        SimplexNoise noise = new SimplexNoise(11L);
+        double[] row = new double[100];
+        noise.fractalRow2(row, row.length, -50, 17, 1.0 / 32, 4, 2.0, 0.5);
+        float[] grid = new float[10 * 6];
+        noise.fractalGrid2(grid, 10, 6, 300, -3, 1.0 / 8, 3, 2.0, 0.5);
+
+        for (int i = 0; i < row.length; i++) {
+            assertEquals(noise.fractal2(-50 + i, 17, 1.0 / 32, 4, 2.0, 0.5), row[i], 0.0);
+        }
+        for (int j = 0; j < 6; j++) {
+            for (int i = 0; i < 10; i++) {
+                assertEquals((float) noise.fractal2(300 + i, -3 + j, 1.0 / 8, 3, 2.0, 0.5),
+                             grid[j * 10 + i], 0.0f);
+            }
+        }
+    }
+
+    @Test
+    void testRangeAndSeeding() {
+        SimplexNoise a = new SimplexNoise(1L), b = new SimplexNoise(1L), c = new SimplexNoise(2L);
+        double min = 0, max = 0;
+        boolean differs = false;
+        for (int i = 0; i < 20_000; i++) {
+            double x = i * 0.173, y = i * 0.0591;
+            double v = a.noise2(x, y);
+            min = Math.min(min, v);
+            max = Math.max(max, v);
+            assertEquals(v, b.noise2(x, y), 0.0, "Same seed, same noise");
+            differs |= v != c.noise2(x, y);
+        }
+        assertTrue(min >= -1.0 && max <= 1.0, "Noise stays within [-1, 1]");
+        assertTrue(min < -0.5 && max > 0.5, "Noise uses most of its range");
+        assertTrue(differs, "Different seeds give different noise");
+    }
+}
@@ -0,0 +1,38 @@
+package tests;
+
+import engine.core.HeadlessRunner;
+import entity.Player;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SimulationTest {
+
+    @Test
+    void testLevelsRunHeadless() {
+        HeadlessRunner runner = new HeadlessRunner(List.of("/map1.txt", "/map2.txt"));
+        runner.getLevelManager().init();
+        Player p = runner.getPlayer();
+        double startX = p.getX();
+
+        p.moveRight();
+        runner.run(600, 1.0 / 120);
+        assertEquals(600, runner.getSimulation().getTicks());
+        assertTrue(p.getX() > startX || runner.getLevelManager().getCurrentLevel() > 0,
+                "The player walks right without a display");
+        assertFalse(runner.getLevelManager().getNpcs().isEmpty(), "NPCs spawn without sprites");
+    }
+
+    @Test
+    void testInfiniteWorldRunsHeadless() {
+        HeadlessRunner runner = new HeadlessRunner(List.of("/map1.txt"));
+        runner.getLevelManager().initInfinite(9L);
+        Player p = runner.getPlayer();
+        double startY = p.getY();
+
+        runner.run(240, 1.0 / 120);
+        assertEquals(startY, p.getY(), 1.0, "The player stands on generated ground");
+    }
+}
@@ -0,0 +1,54 @@
+package tests;
+
+import org.junit.jupiter.api.Test;
+import util.SpatialGrid;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SpatialGridTest {
+
+    @Test
+    void testQueryFindsOnlyNearbyObjects() {
+        SpatialGrid<String> grid = new SpatialGrid<>(64);
+        grid.insert("near", 100, 100);
+        grid.insert("far", 5000, 100);
+        grid.insert("negative", -300, -300);
+
+        List<String> found = grid.query(80, 80, 120, 120, new ArrayList<>());
+        assertEquals(List.of("near"), found);
+        assertTrue(grid.query(-320, -320, -290, -290, new ArrayList<>()).contains("negative"));
+        assertTrue(grid.query(2000, 2000, 2100, 2100, new ArrayList<>()).isEmpty());
+    }
+
+    @Test
+    void testRemove() {
+        SpatialGrid<Integer> grid = new SpatialGrid<>(32);
+        grid.insert(1, 10, 10);
+        grid.insert(2, 12, 12);
+        assertTrue(grid.remove(1, 10, 10));
+        assertFalse(grid.remove(1, 10, 10), "Already removed");
+        assertEquals(1, grid.size());
+        assertEquals(List.of(2), grid.query(0, 0, 31, 31, new ArrayList<>()));
+    }
+
+    @Test
+    void testLargeQueryMatchesCellWalk() {
+        SpatialGrid<Integer> grid = new SpatialGrid<>(64);
+        for (int i = 0; i < 5000; i++) {
+            grid.insert(i, (i * 37) % 20000, (i * 91) % 3000);
+        }
+        assertEquals(5000, grid.size());
+        // covers far more cells than are occupied, so the occupied-cell scan is used
+        assertEquals(5000, grid.query(-1e6, -1e6, 1e6, 1e6, new ArrayList<>()).size());
+
+        int expected = 0;
+        for (int i = 0; i < 5000; i++) {
+            int x = (i * 37) % 20000, y = (i * 91) % 3000;
+            if (x >= 1024 && x < 1536 && y >= 512 && y < 1024) expected++;
+        }
+        assertEquals(expected, grid.query(1024, 512, 1535, 1023, new ArrayList<>()).size());
+    }
+}
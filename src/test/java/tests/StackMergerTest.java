@@ -0,0 +1,89 @@
+package tests;
+
+import entity.EntityStore;
+import entity.EntitySystems;
+import entity.StackMerger;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StackMergerTest {
+    private static final int TS = 16;
+
+    private static int total(EntityStore store) {
+        int n = 0;
+        for (int i = 0; i < store.size(); i++) n += store.getCount(i);
+        return n;
+    }
+
+    @Test
+    void testNeighboursMergeAndFarOnesDoNot() {
+        EntityStore store = new EntityStore();
+        store.add(0, 3, 0, 0, TS, TS);
+        store.add(0, 2, 20, 0, TS, TS);     // near, same item
+        store.add(1, 1, 10, 0, TS, TS);     // near, other item
+        store.add(0, 4, 1000, 0, TS, TS);   // same item, far away
+
+        int removed = new StackMerger(48).merge(store);
+
+        assertEquals(1, removed);
+        assertEquals(3, store.size());
+        assertEquals(5, store.getCount(0), "The first stack takes its neighbour's items");
+        assertEquals(0, store.getX(0), "and keeps its position");
+        assertEquals(10, total(store));
+    }
+
+    @Test
+    void testDenseFieldCollapses() {
+        EntityStore store = new EntityStore();
+        // 10,000 single items over a 100x100 tile area
+        for (int i = 0; i < 10_000; i++) {
+            store.add(0, (i % 100) * TS, (i / 100) * TS, TS, TS);
+        }
+        StackMerger merger = new StackMerger(48);
+        merger.merge(store);
+        assertTrue(store.size() < 2_000, "Most items join a stack: " + store.size());
+        assertEquals(10_000, total(store), "No item is lost by merging");
+    }
+
+    @Test
+    void testPermanentItemsStaySeparate() {
+        EntityStore store = new EntityStore();
+        store.add(0, 0, 0, TS, TS);
+        int placed = store.add(0, 4, 0, TS, TS);
+        store.setPermanent(placed, true);
+        int placed2 = store.add(0, 8, 0, TS, TS);
+        store.setPermanent(placed2, true);
+        new StackMerger(48).merge(store);
+        assertEquals(3, store.size(), "Level items keep their place");
+    }
+
+    @Test
+    void testDespawnAfterAge() {
+        EntityStore store = new EntityStore();
+        store.add(0, 0, 0, TS, TS);
+        int placed = store.add(1, 100, 0, TS, TS);
+        store.setPermanent(placed, true);
+
+        assertEquals(0, EntitySystems.despawn(store, 4.0, 5.0));
+        assertEquals(2, store.size());
+        assertEquals(1, EntitySystems.despawn(store, 2.0, 5.0), "The drop outlives its age");
+        assertEquals(1, store.size());
+        assertEquals(1, store.getSprite(0), "Level items never despawn");
+
+        store.add(0, 0, 0, TS, TS);
+        assertEquals(0, EntitySystems.despawn(store, 1e6, 0), "An age of 0 keeps drops forever");
+    }
+
+    @Test
+    void testFullStackKeepsItsAge() {
+        EntityStore store = new EntityStore();
+        store.add(0, EntitySystems.MAX_STACK, 0, 0, TS, TS);
+        EntitySystems.despawn(store, 100, 0);
+        store.add(0, 1, 4, 0, TS, TS);
+
+        assertEquals(0, new StackMerger(48).merge(store));
+        assertEquals(100, store.getAge(0), 1e-9, "A full stack takes nothing and stays old");
+        assertEquals(1, store.getCount(1));
+    }
+}
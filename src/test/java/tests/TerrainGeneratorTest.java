@@ -0,0 +1,65 @@
+package tests;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import util.TerrainGenerator;
+import world.BinaryLevelFormat;
+import world.Level;
+import world.TileRegistry;
+import world.TileType;
+import world.World;
+import world.WorldLoader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TerrainGeneratorTest {
+
+    @Test
+    void testTextAndBinaryOutputsMatch(@TempDir Path dir) throws IOException {
+        Path txt = dir.resolve("gen.txt"), bin = dir.resolve("gen" + BinaryLevelFormat.EXTENSION);
+        // wider than one write buffer band, so rows are flushed several times
+        TerrainGenerator.generatePerlinLike(txt.toString(), 300, 120, 42L);
+        TerrainGenerator.generatePerlinLike(bin.toString(), 300, 120, 42L);
+
+        Level text;
+        try (InputStream in = Files.newInputStream(txt)) {
+            text = WorldLoader.parse(in, TileRegistry.getShared(), txt.toString());
+        }
+        Level binary = BinaryLevelFormat.read(bin);
+
+        World a = text.getWorld(), b = binary.getWorld();
+        assertEquals(300, a.getWidth());
+        assertEquals(120, a.getHeight());
+        assertEquals(a.getWidth(), b.getWidth());
+        assertEquals(a.getHeight(), b.getHeight());
+        boolean caves = false, ore = false;
+        for (int y = 0; y < a.getHeight(); y++) {
+            for (int x = 0; x < a.getWidth(); x++) {
+                assertEquals(a.getTile(x, y), b.getTile(x, y), "tile " + x + "," + y);
+                caves |= a.getTile(x, y) == TileType.AIR && y > 90;
+                ore |= a.getTile(x, y) == TileType.IRON_ORE;
+            }
+        }
+        assertTrue(caves, "Caves are carved below the surface");
+        assertTrue(ore, "Iron ore veins run through the stone");
+        for (int x = 0; x < a.getWidth(); x++) {
+            assertTrue(a.getTile(x, a.getHeight() - 1).isSolid(), "The bottom row is never carved");
+        }
+        assertFalse(text.getItemSpawns().isEmpty());
+        assertEquals(text.getItemSpawns().size(), binary.getItemSpawns().size());
+        assertEquals(text.getNpcSpawns().get(0).tileX, binary.getNpcSpawns().get(0).tileX);
+    }
+
+    @Test
+    void testSameSeedSameMap(@TempDir Path dir) throws IOException {
+        Path a = dir.resolve("a.txt"), b = dir.resolve("b.txt");
+        TerrainGenerator.generatePerlinLike(a.toString(), 64, 48, 7L);
+        TerrainGenerator.generatePerlinLike(b.toString(), 64, 48, 7L);
+        assertArrayEquals(Files.readAllBytes(a), Files.readAllBytes(b));
+    }
+}
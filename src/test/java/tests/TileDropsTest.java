@@ -0,0 +1,71 @@
+package tests;
+
+import entity.EntityStore;
+import entity.EntitySystems;
+import org.junit.jupiter.api.Test;
+import world.ItemType;
+import world.TileDrops;
+import world.TileType;
+import world.World;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TileDropsTest {
+
+    @Test
+    void testDropTable() {
+        assertEquals(ItemType.STONE, TileDrops.dropOf(TileType.STONE));
+        assertEquals(ItemType.IRON, TileDrops.dropOf(TileType.IRON_ORE));
+        assertEquals(ItemType.STICK, TileDrops.dropOf(TileType.TREE_TRUNK));
+        assertNull(TileDrops.dropOf(TileType.TREE_LEAVES));
+        assertNull(TileDrops.dropOf(TileType.AIR));
+    }
+
+    @Test
+    void testFelledTreeDropsOneStack() {
+        World world = new World(20, 20);
+        world.setTile(10, 15, TileType.TREE_MAIN);
+        for (int y = 11; y <= 14; y++) world.setTile(10, y, TileType.TREE_TRUNK);
+        world.setTile(9, 11, TileType.TREE_LEAVES);
+
+        TileDrops drops = new TileDrops();
+        world.mineTile(10, 12, drops);
+
+        assertEquals(4, drops.getCount(ItemType.STICK), "One stick per trunk tile");
+        assertEquals(10.5, drops.getCenterX(ItemType.STICK), 1e-9);
+        assertEquals(13.0, drops.getCenterY(ItemType.STICK), 1e-9);
+        assertEquals(0, drops.getCount(ItemType.STONE));
+
+        drops.clear();
+        assertTrue(drops.isEmpty());
+        world.mineTile(0, 0, drops);
+        assertTrue(drops.isEmpty(), "Mining air drops nothing");
+    }
+
+    @Test
+    void testDropsMergeIntoNearbyStacks() {
+        EntityStore store = new EntityStore();
+        int stone = ItemType.STONE.ordinal();
+        // strip-mine a row of 100 stone tiles, one action each
+        for (int tx = 0; tx < 100; tx++) {
+            EntitySystems.spawnStack(store, stone, 1, tx * 16 + 8, 8, 16, 48);
+        }
+        assertTrue(store.size() <= 100 / 3 + 1, "Drops a few tiles apart share a stack: " + store.size());
+        int total = 0;
+        for (int i = 0; i < store.size(); i++) total += store.getCount(i);
+        assertEquals(100, total, "No item is lost by merging");
+
+        EntitySystems.spawnStack(store, ItemType.IRON.ordinal(), 2, 8, 8, 16, 48);
+        assertEquals(ItemType.IRON.ordinal(), store.getSprite(store.size() - 1),
+                "Different items never merge");
+    }
+
+    @Test
+    void testStacksAreCapped() {
+        EntityStore store = new EntityStore();
+        EntitySystems.spawnStack(store, 0, EntitySystems.MAX_STACK + 5, 100, 100, 16, 48);
+        assertEquals(2, store.size());
+        assertEquals(EntitySystems.MAX_STACK, store.getCount(0));
+        assertEquals(5, store.getCount(1));
+    }
+}
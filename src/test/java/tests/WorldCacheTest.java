@@ -0,0 +1,106 @@
+package tests;
+
+import engine.level.WorldCache;
+import org.junit.jupiter.api.Test;
+import world.Level;
+import world.TileType;
+import world.World;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WorldCacheTest {
+
+    /** Level with a few chunks of stone, so its size estimate is not zero. */
+    private static Level level() {
+        World world = new World(70, 40);
+        world.setTile(0, 0, TileType.STONE);
+        world.setTile(40, 10, TileType.DIRT);
+        world.setTile(69, 39, TileType.STONE);
+        return new Level(world, List.of(), List.of());
+    }
+
+    private static long levelBytes() {
+        return level().getWorld().estimateBytes();
+    }
+
+    @Test
+    void testJustPutLevelStaysResidentWhileOlderOnesSpill() {
+        WorldCache cache = new WorldCache(2 * levelBytes());
+        cache.put(0, level());
+        cache.put(1, level());
+        assertTrue(cache.isResident(0), "Two levels fit the budget");
+        assertTrue(cache.isResident(1));
+
+        cache.put(2, level());
+        assertFalse(cache.isResident(0), "The least recently used level is spilled first");
+        assertTrue(cache.isSpilled(0));
+        assertTrue(cache.isResident(1));
+        assertTrue(cache.isResident(2));
+
+        // a budget no level fits still keeps the one just stored
+        WorldCache tiny = new WorldCache(1);
+        tiny.put(0, level());
+        assertTrue(tiny.isResident(0));
+        tiny.put(1, level());
+        assertTrue(tiny.isResident(1));
+        assertFalse(tiny.isResident(0));
+        assertTrue(tiny.isSpilled(0));
+    }
+
+    @Test
+    void testTakeOfSpilledLevelReturnsItsEdits() {
+        WorldCache cache = new WorldCache(levelBytes());
+        Level edited = level();
+        World world = edited.getWorld();
+        world.mineTile(40, 10);
+        world.setTile(33, 20, TileType.STONE);
+        cache.put(0, edited);
+        cache.put(1, level());
+        assertTrue(cache.isSpilled(0));
+
+        Level back = cache.take(0);
+        assertNotSame(edited, back, "Read back from the spill file");
+        World restored = back.getWorld();
+        assertEquals(world.getWidth(), restored.getWidth());
+        assertEquals(world.getHeight(), restored.getHeight());
+        assertEquals(TileType.AIR, restored.getTile(40, 10), "Mined tile stays mined");
+        assertEquals(TileType.STONE, restored.getTile(33, 20), "Placed tile stays placed");
+        assertEquals(TileType.STONE, restored.getTile(69, 39));
+        assertTrue(restored.getDirtyChunks().isEmpty());
+
+        assertNull(cache.take(5), "Never cached");
+    }
+
+    @Test
+    void testResidentAndSpilledFlagsFollowTheLevel() {
+        WorldCache cache = new WorldCache(levelBytes());
+        assertFalse(cache.isResident(0));
+        assertFalse(cache.isSpilled(0));
+
+        Level first = level();
+        cache.put(0, first);
+        assertTrue(cache.isResident(0));
+        assertFalse(cache.isSpilled(0));
+
+        cache.put(1, level());
+        assertFalse(cache.isResident(0));
+        assertTrue(cache.isSpilled(0));
+
+        // taking a resident level removes it from memory without spilling it
+        assertNotNull(cache.take(1));
+        assertFalse(cache.isResident(1));
+        assertFalse(cache.isSpilled(1));
+
+        // the spill file is kept, so the level can be read again ahead of time
+        Level back = cache.take(0);
+        assertFalse(cache.isResident(0));
+        assertTrue(cache.isSpilled(0));
+        assertNotNull(cache.readSpilled(0));
+
+        cache.put(0, back);
+        assertTrue(cache.isResident(0), "Stored again after being taken back");
+        assertSame(back, cache.take(0), "Resident levels are returned as they are");
+    }
+}
@@ -0,0 +1,110 @@
+package tests;
+
+import org.junit.jupiter.api.Test;
+import world.ItemType;
+import world.Level;
+import world.TileRegistry;
+import world.TileType;
+import world.World;
+import world.WorldLoader;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WorldLoaderTest {
+
+    private static Level parse(String text) throws IOException {
+        return WorldLoader.parse(new ByteArrayInputStream(text.getBytes(StandardCharsets.US_ASCII)),
+                TileRegistry.getShared(), "test");
+    }
+
+    @Test
+    void testParsesGridAndSpawns() throws IOException {
+        Level level = parse("""
+                ....
+                .GS.
+                DDSS
+                ITEM   banana 1  -2
+                NPC\tbro 3 0
+                ITEM unknown 0 0
+                # comment
+                """);
+        World world = level.getWorld();
+        assertEquals(4, world.getWidth());
+        assertEquals(3, world.getHeight());
+        assertEquals(TileType.AIR, world.getTile(0, 0));
+        assertEquals(TileType.GRASS_TOP, world.getTile(1, 1));
+        assertEquals(TileType.STONE, world.getTile(2, 1));
+        assertEquals(TileType.DIRT, world.getTile(0, 2));
+        assertEquals(TileType.STONE, world.getTile(3, 2));
+
+        assertEquals(1, level.getItemSpawns().size(), "Unknown item ids are skipped");
+        assertEquals(ItemType.BANANA, level.getItemSpawns().get(0).itemType);
+        assertEquals(1, level.getItemSpawns().get(0).tileX);
+        assertEquals(-2, level.getItemSpawns().get(0).tileY);
+        assertEquals("bro", level.getNpcSpawns().get(0).npcId);
+        assertEquals(3, level.getNpcSpawns().get(0).tileX);
+        assertTrue(world.getDirtyChunks().isEmpty());
+    }
+
+    @Test
+    void testWindowsLineEndingsAndNoTrailingNewline() throws IOException {
+        Level level = parse("..\r\nSS\r\nNPC bro 1 1");
+        assertEquals(2, level.getWorld().getWidth());
+        assertEquals(2, level.getWorld().getHeight());
+        assertEquals(TileType.STONE, level.getWorld().getTile(1, 1));
+        assertEquals(1, level.getNpcSpawns().size());
+    }
+
+    @Test
+    void testMapSpanningSeveralBandsMatchesTileArray() throws IOException {
+        int w = 45, h = 3 * World.CHUNK_SIZE + 7;
+        TileType[][] tiles = new TileType[h][w];
+        StringBuilder text = new StringBuilder();
+        for (int y = 0; y < h; y++) {
+            for (int x = 0; x < w; x++) {
+                // ground below a wavy surface, with stone stripes crossing band edges
+                boolean ground = y > 20 + (x % 9);
+                boolean stone = ground && (x + y) % 5 == 0;
+                tiles[y][x] = stone ? TileType.STONE : ground ? TileType.DIRT : TileType.AIR;
+                text.append(stone ? 'S' : ground ? 'D' : '.');
+            }
+            text.append('\n');
+        }
+        text.append("NPC bro 2 3\n");
+
+        // hand the bytes over in small reads so lines straddle read boundaries
+        byte[] bytes = text.toString().getBytes(StandardCharsets.US_ASCII);
+        InputStream in = new ByteArrayInputStream(bytes) {
+            @Override
+            public int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, 7));
+            }
+        };
+        Level level = WorldLoader.parse(in, TileRegistry.getShared(), "test");
+        World world = level.getWorld(), expected = new World(tiles);
+
+        assertEquals(w, world.getWidth());
+        assertEquals(h, world.getHeight());
+        for (int y = 0; y < h; y++) {
+            for (int x = 0; x < w; x++) {
+                assertEquals(expected.getTile(x, y), world.getTile(x, y), "tile " + x + "," + y);
+                assertEquals(expected.getVariantId(x, y), world.getVariantId(x, y), "variant " + x + "," + y);
+                assertEquals(expected.getLight(x, y), world.getLight(x, y), "light " + x + "," + y);
+            }
+        }
+        assertEquals(1, level.getNpcSpawns().size());
+        assertTrue(world.getDirtyChunks().isEmpty());
+    }
+
+    @Test
+    void testRejectsEmptyAndMalformedInput() {
+        assertThrows(RuntimeException.class, () -> parse(""));
+        assertThrows(RuntimeException.class, () -> parse("..\nITEM banana x 1\n"));
+        assertThrows(RuntimeException.class, () -> parse("..\nNPC bro 1\n"));
+    }
+}
@@ -0,0 +1,140 @@
+package tests;
+
+import org.junit.jupiter.api.Test;
+import world.TilePalette;
+import world.TileType;
+import world.World;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WorldTest {
+
+    @Test
+    void testSetAndGetAcrossChunkBorders() {
+        World world = new World(100, 70);
+        int edge = World.CHUNK_SIZE;
+        world.setTile(edge - 1, edge - 1, TileType.STONE);
+        world.setTile(edge, edge, TileType.DIRT);
+        world.setTile(99, 69, TileType.GRASS_TOP);
+
+        assertEquals(TileType.STONE, world.getTile(edge - 1, edge - 1));
+        assertEquals(TileType.DIRT, world.getTile(edge, edge));
+        assertEquals(TileType.GRASS_TOP, world.getTile(99, 69));
+        assertEquals(TileType.AIR, world.getTile(edge, edge - 1),
+                "Untouched tiles should read as AIR");
+    }
+
+    @Test
+    void testOutOfBoundsBehaviour() {
+        World world = new World(10, 10);
+        world.setTile(-1, 0, TileType.STONE);
+        world.setTile(10, 0, TileType.STONE);
+
+        assertEquals(TileType.AIR, world.getTile(-1, 0));
+        assertEquals(TileType.AIR, world.getTile(10, 0));
+        assertTrue(world.isSolid(0, -1), "Above the map counts as solid");
+        assertTrue(world.isSolid(0, 10), "Below the map counts as solid");
+        assertFalse(world.isSolid(-1, 5), "Left of the map is open to allow exit");
+    }
+
+    @Test
+    void testChunksAllocatedOnlyWhereUsed() {
+        World world = new World(World.CHUNK_SIZE * 4, World.CHUNK_SIZE * 4);
+        world.setTile(5, 5, TileType.AIR);
+        assertNull(world.getChunk(0, 0), "Writing AIR should not allocate a chunk");
+
+        world.setTile(World.CHUNK_SIZE * 2 + 1, 3, TileType.STONE);
+        assertNotNull(world.getChunk(2, 0));
+        assertNull(world.getChunk(1, 0));
+    }
+
+    @Test
+    void testArrayConstructorCopiesTiles() {
+        TileType[][] tiles = {
+                { TileType.AIR,  TileType.AIR   },
+                { TileType.DIRT, TileType.STONE }
+        };
+        World world = new World(tiles);
+
+        assertEquals(2, world.getWidth());
+        assertEquals(2, world.getHeight());
+        assertEquals(TileType.STONE, world.getTile(1, 1));
+        assertEquals(1, world.getSurfaceY(0));
+    }
+
+    @Test
+    void testPaletteIdsAndPropertyLookups() {
+        World world = new World(4, 4);
+        world.setTile(0, 0, TileType.TREE_TRUNK);
+        world.setTile(1, 0, TileType.STONE);
+
+        TilePalette palette = world.getPalette();
+        assertEquals(TilePalette.AIR_ID, world.getTileId(2, 2));
+        assertEquals(TileType.TREE_TRUNK, palette.typeOf(world.getTileId(0, 0)));
+        assertEquals(3, palette.size(), "AIR plus the two placed types");
+
+        assertFalse(world.isSolid(0, 0), "Trunks are walk-through");
+        assertTrue(world.isBreakable(0, 0));
+        assertTrue(world.isSolid(1, 0));
+        assertFalse(world.isBreakable(2, 2), "AIR cannot be mined");
+    }
+
+    @Test
+    void testChangeListenerAndDirtyChunks() {
+        World world = new World(64, 64);
+        List<int[]> regions = new ArrayList<>();
+        world.addChangeListener((w, x, y, width, height) ->
+                regions.add(new int[]{x, y, width, height}));
+
+        world.setTile(3, 4, TileType.DIRT);
+        world.setTile(3, 4, TileType.DIRT); // no change, no event
+        assertEquals(1, regions.size());
+        assertArrayEquals(new int[]{3, 4, 1, 1}, regions.get(0));
+        assertEquals(1, world.getDirtyChunks().size());
+
+        world.clearDirty();
+        assertTrue(world.getDirtyChunks().isEmpty());
+        assertFalse(world.getChunk(0, 0).isDirty());
+    }
+
+    @Test
+    void testFellingTreeReportsOneRegion() {
+        World world = new World(20, 20);
+        world.setTile(10, 15, TileType.TREE_MAIN);
+        for (int y = 11; y <= 14; y++) world.setTile(10, y, TileType.TREE_TRUNK);
+        world.setTile(9, 11, TileType.TREE_LEAVES);
+        world.setTile(11, 10, TileType.TREE_LEAVES);
+
+        List<int[]> regions = new ArrayList<>();
+        world.addChangeListener((w, x, y, width, height) ->
+                regions.add(new int[]{x, y, width, height}));
+        world.mineTile(10, 12);
+
+        assertEquals(1, regions.size(), "A felled tree is reported as one batch");
+        assertArrayEquals(new int[]{9, 10, 3, 5}, regions.get(0));
+        assertEquals(TileType.TREE_MAIN, world.getTile(10, 15));
+        assertEquals(TileType.AIR, world.getTile(11, 10));
+    }
+
+    @Test
+    void testAutotileLayerFollowsEdits() {
+        TileType A = TileType.AIR, D = TileType.DIRT;
+        World world = new World(new TileType[][] {
+                { A, A, A },
+                { D, D, D },
+                { D, D, D }
+        });
+        TilePalette palette = world.getPalette();
+        assertEquals(TileType.GRASS_TOP, palette.typeOf(world.getVariantId(1, 1)),
+                "Dirt under air is drawn as grass");
+        assertEquals(TileType.DIRT, palette.typeOf(world.getVariantId(1, 2)));
+
+        world.mineTile(2, 2);
+        assertEquals(TileType.GRASS_RIGHT, palette.typeOf(world.getVariantId(1, 2)),
+                "Mining a neighbour updates the edge variant");
+        assertEquals(TileType.AIR, palette.typeOf(world.getVariantId(2, 2)));
+    }
+}